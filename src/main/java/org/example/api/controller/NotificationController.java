@@ -1,11 +1,21 @@
 package org.example.api.controller;
 
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.api.dto.BroadcastNotificationRequest;
+import org.example.api.dto.CursorPageResponse;
+import org.example.api.dto.MarkNotificationsReadRequest;
 import org.example.api.dto.NotificationResponse;
+import org.example.api.model.NotificationTemplate;
+import org.example.api.security.CurrentUser;
+import org.example.api.security.JwtPrincipal;
 import org.example.api.service.NotificationService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -17,24 +27,48 @@ public class NotificationController {
     private final NotificationService notificationService;
 
     @GetMapping
-    public ResponseEntity<List<NotificationResponse>> getMyNotifications(Authentication authentication) {
-        return ResponseEntity.ok(notificationService.getUserNotifications(authentication.getName()));
+    public ResponseEntity<CursorPageResponse<NotificationResponse>> getMyNotifications(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @CurrentUser JwtPrincipal user
+    ) {
+        return ResponseEntity.ok(notificationService.getUserNotifications(user.id(), cursor, size));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNotifications(@CurrentUser JwtPrincipal user) {
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .header("X-Accel-Buffering", "no")
+                .body(notificationService.openStream(user.id()));
     }
 
     @GetMapping("/unread-count")
-    public ResponseEntity<Long> getUnreadCount(Authentication authentication) {
-        return ResponseEntity.ok(notificationService.getUnreadCount(authentication.getName()));
+    public ResponseEntity<Long> getUnreadCount(@CurrentUser JwtPrincipal user) {
+        return ResponseEntity.ok(notificationService.getUnreadCount(user.id()));
     }
 
     @PatchMapping("/{id}/read")
-    public ResponseEntity<Void> markAsRead(@PathVariable Long id) {
-        notificationService.markAsRead(id);
+    public ResponseEntity<Void> markAsRead(@PathVariable Long id, @CurrentUser JwtPrincipal user) {
+        notificationService.markAsRead(user.id(), id);
         return ResponseEntity.ok().build();
     }
-    
+
+    @PatchMapping("/read")
+    public ResponseEntity<Integer> markSelectedAsRead(@RequestBody @Valid MarkNotificationsReadRequest request,
+                                                      @CurrentUser JwtPrincipal user) {
+        return ResponseEntity.ok(notificationService.markAsRead(user.id(), request.ids()));
+    }
+
+    @PostMapping("/broadcast")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Integer> broadcast(@RequestBody @Valid BroadcastNotificationRequest request) {
+        return ResponseEntity.ok(notificationService.notifyRole(
+                request.role(), NotificationTemplate.CUSTOM, List.of(request.title(), request.content())));
+    }
+
     @PatchMapping("/read-all")
-    public ResponseEntity<Void> markAllAsRead(Authentication authentication) {
-        notificationService.markAllAsRead(authentication.getName());
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Integer> markAllAsRead(@CurrentUser JwtPrincipal user) {
+        return ResponseEntity.ok(notificationService.markAllAsRead(user.id()));
     }
 }
\ No newline at end of file
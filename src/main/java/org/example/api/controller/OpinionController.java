@@ -4,6 +4,8 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.example.api.dto.OpinionRequest;
 import org.example.api.dto.OpinionResponse;
+import org.example.api.security.CurrentUser;
+import org.example.api.security.JwtPrincipal;
 import org.example.api.service.OpinionService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -11,7 +13,6 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -23,8 +24,8 @@ public class OpinionController {
 
     @PostMapping
     @PreAuthorize("hasRole('CLIENT')")
-    public ResponseEntity<Void> addOpinion(@Valid @RequestBody OpinionRequest opinionRequest, Authentication authentication){
-        opinionService.createOpinion(opinionRequest, authentication.getName());
+    public ResponseEntity<Void> addOpinion(@Valid @RequestBody OpinionRequest opinionRequest, @CurrentUser JwtPrincipal user){
+        opinionService.createOpinion(opinionRequest, user.id());
         return ResponseEntity.ok().build();
     }
 
@@ -2,10 +2,15 @@ package org.example.api.controller;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.api.dto.AvailabilityGridResponse;
+import org.example.api.dto.CursorPageResponse;
 import org.example.api.dto.ReservationRequest;
 import org.example.api.dto.ReservationResponse;
 import org.example.api.dto.WaiterResponse;
 import org.example.api.model.ReservationStatus;
+import org.example.api.repository.ReservationFilter;
+import org.example.api.security.CurrentUser;
+import org.example.api.security.JwtPrincipal;
 import org.example.api.service.ReservationService;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
@@ -13,6 +18,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -32,20 +38,37 @@ public class ReservationController {
         return ResponseEntity.ok(reservationService.getOccupiedTableIds(start, end));
     }
 
+    @GetMapping("/availability-grid")
+    @PreAuthorize("hasAnyRole('CLIENT', 'ADMIN', 'WAITER')")
+    public ResponseEntity<AvailabilityGridResponse> getAvailabilityGrid(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return ResponseEntity.ok(reservationService.getAvailabilityGrid(date));
+    }
+
     @PostMapping
     @PreAuthorize("hasRole('CLIENT')")
     public ResponseEntity<Void> createReservation(
             @RequestBody @Valid ReservationRequest request,
-            Authentication authentication
+            @CurrentUser JwtPrincipal user
     ) {
-        reservationService.createReservation(authentication.getName(), request);
+        reservationService.createReservation(user.id(), request);
         return ResponseEntity.ok().build();
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'WAITER')")
-    public ResponseEntity<List<ReservationResponse>> getAllReservations() {
-        return ResponseEntity.ok(reservationService.findAll());
+    public ResponseEntity<CursorPageResponse<ReservationResponse>> getAllReservations(
+            @RequestParam(required = false) ReservationStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long tableId,
+            @RequestParam(required = false) Long waiterId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(reservationService.findAll(
+                toFilter(status, from, to, tableId, waiterId), cursor, size));
     }
 
     @PatchMapping("/{id}/status")
@@ -77,14 +100,23 @@ public class ReservationController {
 
     @GetMapping("/my")
     @PreAuthorize("hasRole('CLIENT')")
-    public ResponseEntity<List<ReservationResponse>> getClientReservations(Authentication authentication) {
-        return ResponseEntity.ok(reservationService.findClientReservations(authentication.getName()));
+    public ResponseEntity<List<ReservationResponse>> getClientReservations(@CurrentUser JwtPrincipal user) {
+        return ResponseEntity.ok(reservationService.findClientReservations(user.id()));
     }
 
     @GetMapping("/waiter-my")
     @PreAuthorize("hasRole('WAITER')")
-    public ResponseEntity<List<ReservationResponse>> getWaiterReservations(Authentication authentication){
-        return ResponseEntity.ok(reservationService.findWaiterReservations(authentication.getName()));
+    public ResponseEntity<CursorPageResponse<ReservationResponse>> getWaiterReservations(
+            @RequestParam(required = false) ReservationStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Long tableId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size,
+            @CurrentUser JwtPrincipal user
+    ){
+        return ResponseEntity.ok(reservationService.findWaiterReservations(user.id(),
+                toFilter(status, from, to, tableId, null), cursor, size));
     }
 
     @PatchMapping("/{id}/cancel")
@@ -100,4 +132,15 @@ public class ReservationController {
         reservationService.updateReservationDishStatus(id, dishId, authentication.getName());
         return ResponseEntity.noContent().build();
     }
+
+    private static ReservationFilter toFilter(ReservationStatus status, LocalDate from, LocalDate to,
+                                              Long tableId, Long waiterId) {
+        return new ReservationFilter(
+                status,
+                from != null ? from.atStartOfDay() : null,
+                to != null ? to.plusDays(1).atStartOfDay() : null,
+                tableId,
+                waiterId
+        );
+    }
 }
\ No newline at end of file
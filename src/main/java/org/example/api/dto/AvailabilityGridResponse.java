@@ -0,0 +1,15 @@
+package org.example.api.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+public record AvailabilityGridResponse(
+        LocalDate date,
+        LocalTime firstSlotStart,
+        int slotMinutes,
+        int slotCount,
+        int lastStartSlot,
+        List<Long> tableIds,
+        String occupancy
+) {}
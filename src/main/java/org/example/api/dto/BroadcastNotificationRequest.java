@@ -0,0 +1,19 @@
+package org.example.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import org.example.api.model.Role;
+
+public record BroadcastNotificationRequest(
+        @NotNull(message = "Grupa odbiorców jest wymagana")
+        Role role,
+
+        @NotBlank(message = "Tytuł jest wymagany")
+        @Size(max = 255)
+        String title,
+
+        @NotBlank(message = "Treść jest wymagana")
+        @Size(max = 500)
+        String content
+) {}
\ No newline at end of file
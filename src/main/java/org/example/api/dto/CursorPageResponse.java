@@ -0,0 +1,8 @@
+package org.example.api.dto;
+
+import java.util.List;
+
+public record CursorPageResponse<T>(
+        List<T> items,
+        String nextCursor
+) {}
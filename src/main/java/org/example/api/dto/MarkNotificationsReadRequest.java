@@ -0,0 +1,13 @@
+package org.example.api.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record MarkNotificationsReadRequest(
+        @NotEmpty(message = "Lista powiadomień nie może być pusta")
+        @Size(max = 500, message = "Można oznaczyć maksymalnie 500 powiadomień naraz")
+        List<@NotNull Long> ids
+) {}
\ No newline at end of file
@@ -8,5 +8,6 @@ public record ReservationRequest(
         @NotNull Long tableId,
         @NotNull LocalDateTime start,
         @NotNull LocalDateTime end,
-        List<ReservationDishRequest> dishes
+        List<ReservationDishRequest> dishes,
+        Boolean englishSpeakingWaiter
 ) {}
\ No newline at end of file
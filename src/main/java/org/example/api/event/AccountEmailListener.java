@@ -0,0 +1,23 @@
+package org.example.api.event;
+
+import lombok.RequiredArgsConstructor;
+import org.example.api.service.EmailService;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class AccountEmailListener {
+
+    private final EmailService emailService;
+
+    @EventListener
+    public void onActivationEmailRequested(ActivationEmailRequestedEvent event) {
+        emailService.sendActivationEmail(event.email(), event.firstName(), event.token());
+    }
+
+    @EventListener
+    public void onPasswordResetRequested(PasswordResetRequestedEvent event) {
+        emailService.sendPasswordResetEmail(event.email(), event.token());
+    }
+}
\ No newline at end of file
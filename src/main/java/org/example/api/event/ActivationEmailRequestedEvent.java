@@ -0,0 +1,7 @@
+package org.example.api.event;
+
+public record ActivationEmailRequestedEvent(
+        String email,
+        String firstName,
+        String token
+) {}
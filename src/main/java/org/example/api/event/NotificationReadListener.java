@@ -0,0 +1,24 @@
+package org.example.api.event;
+
+import lombok.RequiredArgsConstructor;
+import org.example.api.service.NotificationStreamRelay;
+import org.example.api.service.UnreadNotificationCounter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class NotificationReadListener {
+
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationStreamRelay notificationStreams;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsRead(NotificationsReadEvent event) {
+        if (event.count() == 0) {
+            return;
+        }
+        unreadCounter.decrement(event.userId(), event.count());
+        notificationStreams.unreadCountChanged(event.userId());
+    }
+}
\ No newline at end of file
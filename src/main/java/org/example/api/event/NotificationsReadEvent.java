@@ -0,0 +1,6 @@
+package org.example.api.event;
+
+public record NotificationsReadEvent(
+        Long userId,
+        int count
+) {}
\ No newline at end of file
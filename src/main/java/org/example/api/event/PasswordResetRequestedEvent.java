@@ -0,0 +1,6 @@
+package org.example.api.event;
+
+public record PasswordResetRequestedEvent(
+        String email,
+        String token
+) {}
@@ -0,0 +1,7 @@
+package org.example.api.event;
+
+public record ReservationCancelledByClientEvent(
+        Long reservationId,
+        String clientEmail,
+        Long waiterUserId
+) {}
@@ -0,0 +1,11 @@
+package org.example.api.event;
+
+import java.time.LocalDateTime;
+
+public record ReservationCreatedEvent(
+        Long reservationId,
+        Long clientUserId,
+        String clientName,
+        LocalDateTime start,
+        Long waiterUserId
+) {}
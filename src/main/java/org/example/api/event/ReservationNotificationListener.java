@@ -0,0 +1,103 @@
+package org.example.api.event;
+
+import lombok.RequiredArgsConstructor;
+import org.example.api.config.AsyncConfig;
+import org.example.api.model.NotificationTemplate;
+import org.example.api.model.ReservationStatus;
+import org.example.api.model.Role;
+import org.example.api.model.User;
+import org.example.api.repository.UserRepository;
+import org.example.api.service.NotificationMessage;
+import org.example.api.service.NotificationService;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class ReservationNotificationListener {
+
+    private final NotificationService notificationService;
+    private final UserRepository userRepository;
+
+    @Async(AsyncConfig.EVENT_EXECUTOR)
+    @TransactionalEventListener
+    public void onReservationCreated(ReservationCreatedEvent event) {
+        List<NotificationMessage> messages = new ArrayList<>();
+
+        messages.add(NotificationMessage.of(event.clientUserId(), NotificationTemplate.RESERVATION_RECEIVED,
+                event.start().toLocalDate(), event.start().toLocalTime()));
+
+        notificationService.notifyRole(Role.ROLE_ADMIN, NotificationTemplate.RESERVATION_CREATED_ADMIN,
+                List.of(event.clientName()));
+
+        if (event.waiterUserId() != null) {
+            messages.add(NotificationMessage.of(event.waiterUserId(), NotificationTemplate.RESERVATION_ASSIGNED_WAITER,
+                    event.start().toLocalDate(), event.start().toLocalTime()));
+
+            messages.add(NotificationMessage.of(event.clientUserId(), NotificationTemplate.WAITER_ASSIGNED_CLIENT,
+                    firstName(event.waiterUserId())));
+        }
+
+        notificationService.send(messages);
+    }
+
+    @Async(AsyncConfig.EVENT_EXECUTOR)
+    @TransactionalEventListener
+    public void onReservationStatusChanged(ReservationStatusChangedEvent event) {
+        List<NotificationMessage> messages = new ArrayList<>();
+
+        if (event.newStatus() == ReservationStatus.CONFIRMED && event.oldStatus() == ReservationStatus.PENDING) {
+            messages.add(NotificationMessage.of(event.clientUserId(), NotificationTemplate.RESERVATION_CONFIRMED,
+                    event.start().toLocalDate(), event.start().toLocalTime()));
+        }
+
+        if (event.newStatus() == ReservationStatus.CANCELLED) {
+            messages.add(NotificationMessage.of(event.clientUserId(), NotificationTemplate.RESERVATION_CANCELLED_CLIENT));
+
+            if (event.waiterUserId() != null) {
+                messages.add(NotificationMessage.of(event.waiterUserId(), NotificationTemplate.RESERVATION_CANCELLED_WAITER));
+            }
+        }
+
+        notificationService.send(messages);
+    }
+
+    @Async(AsyncConfig.EVENT_EXECUTOR)
+    @TransactionalEventListener
+    public void onWaiterAssigned(WaiterAssignedEvent event) {
+        List<NotificationMessage> messages = new ArrayList<>();
+
+        messages.add(NotificationMessage.of(event.waiterUserId(), NotificationTemplate.RESERVATION_REASSIGNED_WAITER,
+                event.start().toLocalDate(), event.start().toLocalTime()));
+
+        if (event.previousWaiterUserId() != null && !event.previousWaiterUserId().equals(event.waiterUserId())) {
+            messages.add(NotificationMessage.of(event.previousWaiterUserId(), NotificationTemplate.WAITER_UNASSIGNED,
+                    event.tableNumber()));
+        }
+
+        messages.add(NotificationMessage.of(event.clientUserId(), NotificationTemplate.WAITER_ASSIGNED_CLIENT,
+                firstName(event.waiterUserId())));
+
+        notificationService.send(messages);
+    }
+
+    @Async(AsyncConfig.EVENT_EXECUTOR)
+    @TransactionalEventListener
+    public void onReservationCancelledByClient(ReservationCancelledByClientEvent event) {
+        notificationService.notifyRole(Role.ROLE_ADMIN, NotificationTemplate.CLIENT_CANCELLED_ADMIN,
+                List.of(String.valueOf(event.reservationId()), event.clientEmail()));
+
+        if (event.waiterUserId() != null) {
+            notificationService.send(List.of(
+                    NotificationMessage.of(event.waiterUserId(), NotificationTemplate.CLIENT_CANCELLED_WAITER)));
+        }
+    }
+
+    private String firstName(Long userId) {
+        return userRepository.findById(userId).map(User::getFirstName).orElse("");
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.api.event;
+
+import org.example.api.model.ReservationStatus;
+
+import java.time.LocalDateTime;
+
+public record ReservationStatusChangedEvent(
+        Long reservationId,
+        Long clientUserId,
+        Long waiterUserId,
+        ReservationStatus oldStatus,
+        ReservationStatus newStatus,
+        LocalDateTime start
+) {}
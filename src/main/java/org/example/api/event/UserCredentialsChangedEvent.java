@@ -0,0 +1,5 @@
+package org.example.api.event;
+
+public record UserCredentialsChangedEvent(
+        Long userId
+) {}
\ No newline at end of file
@@ -0,0 +1,18 @@
+package org.example.api.event;
+
+import lombok.RequiredArgsConstructor;
+import org.example.api.service.UserTokenStateCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class UserCredentialsListener {
+
+    private final UserTokenStateCache tokenStateCache;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCredentialsChanged(UserCredentialsChangedEvent event) {
+        tokenStateCache.evict(event.userId());
+    }
+}
\ No newline at end of file
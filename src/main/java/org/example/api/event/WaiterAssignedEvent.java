@@ -0,0 +1,12 @@
+package org.example.api.event;
+
+import java.time.LocalDateTime;
+
+public record WaiterAssignedEvent(
+        Long reservationId,
+        Long clientUserId,
+        Long waiterUserId,
+        Long previousWaiterUserId,
+        LocalDateTime start,
+        Integer tableNumber
+) {}
@@ -1,7 +0,0 @@
-package org.example.api.exception;
-
-public class ActivationMailException extends RuntimeException {
-    public ActivationMailException(String message) {
-        super(message);
-    }
-}
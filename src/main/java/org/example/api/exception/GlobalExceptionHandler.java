@@ -54,6 +54,11 @@ public class GlobalExceptionHandler {
         return buildProblemDetail(HttpStatus.BAD_REQUEST, "ERR_INVALID_TOKEN", ex.getMessage(), "Invalid Token");
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ProblemDetail handleInvalidCursor(InvalidCursorException ex) {
+        return buildProblemDetail(HttpStatus.BAD_REQUEST, "ERR_INVALID_CURSOR", ex.getMessage(), "Invalid Cursor");
+    }
+
     @ExceptionHandler(TokenExpiredException.class)
     public ProblemDetail handleTokenExpired(TokenExpiredException ex) {
         return buildProblemDetail(HttpStatus.GONE, "ERR_TOKEN_EXPIRED", ex.getMessage(), "Token Expired");
@@ -79,14 +84,9 @@ public class GlobalExceptionHandler {
         return buildProblemDetail(HttpStatus.BAD_REQUEST, "ERR_CHANGE_PASSWORD", ex.getMessage(), "Invalid Password");
     }
 
-    @ExceptionHandler(ActivationMailException.class)
-    public ProblemDetail handleActivationMailError(ActivationMailException ex) {
-        return buildProblemDetail(HttpStatus.SERVICE_UNAVAILABLE, "ERR_ACTIVATION_MAIL", ex.getMessage(), "Mail Service Error");
-    }
-
-    @ExceptionHandler(ResetEmailException.class)
-    public ProblemDetail handleResetEmailError(ResetEmailException ex) {
-        return buildProblemDetail(HttpStatus.SERVICE_UNAVAILABLE, "ERR_RESET_EMAIL", ex.getMessage(), "Mail Service Error");
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ProblemDetail handlePasswordHashingBusy(PasswordHashingBusyException ex) {
+        return buildProblemDetail(HttpStatus.SERVICE_UNAVAILABLE, "ERR_SERVER_BUSY", ex.getMessage(), "Server Busy");
     }
 
     @ExceptionHandler(ResourceAlreadyExistsException.class)
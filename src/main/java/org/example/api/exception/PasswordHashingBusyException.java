@@ -0,0 +1,7 @@
+package org.example.api.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
\ No newline at end of file
@@ -1,7 +0,0 @@
-package org.example.api.exception;
-
-public class ResetEmailException extends RuntimeException {
-    public ResetEmailException(String message) {
-        super(message);
-    }
-}
@@ -0,0 +1,6 @@
+package org.example.api.model;
+
+public enum EmailOutboxStatus {
+    PENDING,
+    FAILED
+}
\ No newline at end of file
@@ -2,7 +2,12 @@ package org.example.api.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
 @Table(name = "notifications")
@@ -16,11 +21,18 @@ public class Notification {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false)
-    private String title;
+    private NotificationTemplate template;
+
+    @Builder.Default
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(columnDefinition = "text[]")
+    private List<String> params = new ArrayList<>();
+
+    @Column(name = "title", insertable = false, updatable = false)
+    private String legacyTitle;
 
-    @Column(nullable = false, length = 500)
-    private String content;
+    @Column(name = "content", length = 500, insertable = false, updatable = false)
+    private String legacyContent;
 
     @Column(nullable = false)
     private LocalDateTime sentAt;
@@ -0,0 +1,96 @@
+package org.example.api.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public enum NotificationTemplate {
+
+    CUSTOM(0, "{0}", "{1}"),
+    RESERVATION_RECEIVED(1, "Rezerwacja przyjęta",
+            "Twoja rezerwacja na {0} godz {1} została przyjęta i oczekuje na potwierdzenie."),
+    RESERVATION_CREATED_ADMIN(2, "Nowa rezerwacja", "Klient {0} złożył nową rezerwację."),
+    RESERVATION_ASSIGNED_WAITER(3, "Nowa rezerwacja do obsługi", "Zostałeś przypisany do rezerwacji: {0} {1}"),
+    WAITER_ASSIGNED_CLIENT(4, "Przypisano kelnera", "Do Twojej rezerwacji został przypisany kelner: {0}"),
+    RESERVATION_CONFIRMED(5, "Rezerwacja potwierdzona!", "Twój stolik czeka. Zapraszamy {0} o godzinie {1}."),
+    RESERVATION_CANCELLED_CLIENT(6, "Rezerwacja anulowana", "Twoja rezerwacja została anulowana przez obsługę."),
+    RESERVATION_CANCELLED_WAITER(7, "Anulowano rezerwację", "Rezerwacja, którą miałeś obsłużyć, została anulowana."),
+    RESERVATION_REASSIGNED_WAITER(8, "Nowa rezerwacja do obsługi", "Zostałeś przypisany do nowej rezerwacji: {0} {1}"),
+    WAITER_UNASSIGNED(9, "Zmiana w grafiku", "Zostałeś odsunięty od obsługi rezerwacji stolika nr {0}"),
+    CLIENT_CANCELLED_ADMIN(10, "Klient anulował rezerwację", "Rezerwacja nr {0} ({1}) została odwołana przez klienta."),
+    CLIENT_CANCELLED_WAITER(11, "Klient odwołał wizytę",
+            "Rezerwacja, którą miałeś obsługiwać została anulowana przez klienta.");
+
+    private static final Map<Short, NotificationTemplate> BY_CODE = Arrays.stream(values())
+            .collect(Collectors.toUnmodifiableMap(NotificationTemplate::getCode, Function.identity()));
+
+    private final short code;
+    private final Segment[] title;
+    private final Segment[] content;
+
+    NotificationTemplate(int code, String title, String content) {
+        this.code = (short) code;
+        this.title = compile(title);
+        this.content = compile(content);
+    }
+
+    public short getCode() {
+        return code;
+    }
+
+    public String renderTitle(List<String> params) {
+        return render(title, params);
+    }
+
+    public String renderContent(List<String> params) {
+        return render(content, params);
+    }
+
+    public static NotificationTemplate fromCode(short code) {
+        NotificationTemplate template = BY_CODE.get(code);
+        if (template == null) {
+            throw new IllegalArgumentException("Nieznany szablon powiadomienia: " + code);
+        }
+        return template;
+    }
+
+    private static String render(Segment[] segments, List<String> params) {
+        if (segments.length == 1 && segments[0].param() < 0) {
+            return segments[0].text();
+        }
+
+        StringBuilder rendered = new StringBuilder(64);
+        for (Segment segment : segments) {
+            if (segment.param() < 0) {
+                rendered.append(segment.text());
+            } else if (segment.param() < params.size()) {
+                rendered.append(params.get(segment.param()));
+            }
+        }
+        return rendered.toString();
+    }
+
+    private static Segment[] compile(String pattern) {
+        List<Segment> segments = new ArrayList<>();
+        int from = 0;
+
+        for (int open = pattern.indexOf('{'); open >= 0; open = pattern.indexOf('{', from)) {
+            int close = pattern.indexOf('}', open);
+            if (open > from) {
+                segments.add(new Segment(pattern.substring(from, open), -1));
+            }
+            segments.add(new Segment(null, Integer.parseInt(pattern.substring(open + 1, close))));
+            from = close + 1;
+        }
+
+        if (from < pattern.length() || segments.isEmpty()) {
+            segments.add(new Segment(pattern.substring(from), -1));
+        }
+        return segments.toArray(Segment[]::new);
+    }
+
+    private record Segment(String text, int param) {}
+}
@@ -0,0 +1,18 @@
+package org.example.api.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class NotificationTemplateConverter implements AttributeConverter<NotificationTemplate, Short> {
+
+    @Override
+    public Short convertToDatabaseColumn(NotificationTemplate template) {
+        return template == null ? null : template.getCode();
+    }
+
+    @Override
+    public NotificationTemplate convertToEntityAttribute(Short code) {
+        return code == null ? null : NotificationTemplate.fromCode(code);
+    }
+}
@@ -12,12 +12,23 @@ import java.util.Set;
 
 @Entity
 @Table(name = "reservations")
+@NamedEntityGraph(
+        name = Reservation.LISTING_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode(value = "client", subgraph = "user"),
+                @NamedAttributeNode(value = "waiter", subgraph = "user"),
+                @NamedAttributeNode("restaurantTable")
+        },
+        subgraphs = @NamedSubgraph(name = "user", attributeNodes = @NamedAttributeNode("user"))
+)
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 @Getter
 @Setter
 public class Reservation {
+    public static final String LISTING_GRAPH = "Reservation.listing";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
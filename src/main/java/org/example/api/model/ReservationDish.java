@@ -12,7 +12,8 @@ import lombok.*;
 @Setter
 public class ReservationDish {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservation_dishes_id_seq")
+    @SequenceGenerator(name = "reservation_dishes_id_seq", sequenceName = "reservation_dishes_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -47,6 +47,10 @@ public class User implements Serializable {
     @Builder.Default
     private boolean isActive = true;
 
+    @Column(nullable = false)
+    @Builder.Default
+    private int tokenVersion = 0;
+
     @Override
     public boolean equals(Object obj) {
         return obj instanceof User user &&
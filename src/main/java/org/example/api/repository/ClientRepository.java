@@ -1,6 +1,7 @@
 package org.example.api.repository;
 
 import org.example.api.model.Client;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +10,7 @@ import java.util.Optional;
 @Repository
 public interface ClientRepository extends JpaRepository<Client, Long> {
     Optional<Client> findByUserId(Long id);
+
+    @EntityGraph(attributePaths = "user")
+    Optional<Client> findWithUserById(Long id);
 }
\ No newline at end of file
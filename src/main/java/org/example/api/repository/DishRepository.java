@@ -4,11 +4,13 @@ import org.example.api.model.Dish;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface DishRepository extends JpaRepository<Dish, Long> {
     List<Dish> findAllByIsActiveTrue();
+    List<Dish> findAllByIdInAndIsActiveTrue(Collection<Long> ids);
     List<Dish> findByCategoryId(Long categoryId);
     boolean existsByCategoryId(Long categoryId);
     boolean existsByIngredientsId(Long ingredientId);
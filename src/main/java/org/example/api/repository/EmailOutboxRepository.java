@@ -0,0 +1,26 @@
+package org.example.api.repository;
+
+import org.example.api.model.EmailOutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    @Query(value = """
+            SELECT * FROM email_outbox
+            WHERE status = 'PENDING' AND next_attempt_at <= :now
+            ORDER BY next_attempt_at, id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<EmailOutboxMessage> lockDue(LocalDateTime now, int limit);
+
+    @Query(value = "SELECT min(created_at) FROM email_outbox WHERE status = 'PENDING'", nativeQuery = true)
+    Optional<LocalDateTime> findOldestPendingCreatedAt();
+}
\ No newline at end of file
@@ -0,0 +1,25 @@
+package org.example.api.repository;
+
+import org.example.api.model.NotificationTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public record NotificationFeedRow(
+        Long id,
+        NotificationTemplate template,
+        List<String> params,
+        String legacyTitle,
+        String legacyContent,
+        LocalDateTime sentAt,
+        boolean isRead
+) {
+
+    public String renderTitle() {
+        return template == null ? legacyTitle : template.renderTitle(params);
+    }
+
+    public String renderContent() {
+        return template == null ? legacyContent : template.renderContent(params);
+    }
+}
\ No newline at end of file
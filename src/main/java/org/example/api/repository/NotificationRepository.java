@@ -1,14 +1,101 @@
 package org.example.api.repository;
 
 import org.example.api.model.Notification;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findAllByUserId(Long userId, Sort sort);
     long countByUserIdAndIsReadFalse(Long userId);
-}
+
+    @Query("""
+            SELECT new org.example.api.repository.NotificationFeedRow(n.id, n.template, n.params, n.legacyTitle, n.legacyContent, n.sentAt, n.isRead)
+            FROM Notification n
+            WHERE n.user.id = :userId
+            ORDER BY n.sentAt DESC, n.id DESC
+            """)
+    List<NotificationFeedRow> findFeed(Long userId, Limit limit);
+
+    @Query("""
+            SELECT new org.example.api.repository.NotificationFeedRow(n.id, n.template, n.params, n.legacyTitle, n.legacyContent, n.sentAt, n.isRead)
+            FROM Notification n
+            WHERE n.user.id = :userId AND (n.sentAt, n.id) < (:sentAt, :id)
+            ORDER BY n.sentAt DESC, n.id DESC
+            """)
+    List<NotificationFeedRow> findFeedAfter(Long userId, LocalDateTime sentAt, Long id, Limit limit);
+
+    @Query("""
+            SELECT new org.example.api.repository.NotificationFeedRow(n.id, n.template, n.params, n.legacyTitle, n.legacyContent, n.sentAt, n.isRead)
+            FROM Notification n
+            WHERE n.id IN :ids
+            ORDER BY n.id
+            """)
+    List<NotificationFeedRow> findFeedRowsByIds(Collection<Long> ids);
+
+    @Query("""
+            SELECT n.user.id AS userId, COUNT(n) AS unread
+            FROM Notification n
+            WHERE n.user.id IN :userIds AND n.isRead = false
+            GROUP BY n.user.id
+            """)
+    List<UnreadCountView> countUnreadByUserIds(Collection<Long> userIds);
+
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    @Modifying
+    @Query(value = """
+            UPDATE notifications SET is_read = true
+            WHERE user_id = :userId AND is_read = false
+            """, nativeQuery = true)
+    int markAllAsRead(Long userId);
+
+    @Modifying
+    @Query(value = """
+            UPDATE notifications SET is_read = true
+            WHERE user_id = :userId AND id IN (:ids) AND is_read = false
+            """, nativeQuery = true)
+    int markAsRead(Long userId, Collection<Long> ids);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM notifications
+            WHERE id IN (
+                SELECT id FROM notifications
+                WHERE is_read = true AND sent_at < :threshold
+                ORDER BY id
+                LIMIT :limit
+                FOR UPDATE SKIP LOCKED
+            )
+            """, nativeQuery = true)
+    int deleteReadSentBefore(LocalDateTime threshold, int limit);
+
+    @Query(value = """
+            SELECT user_id FROM notifications
+            WHERE is_read = false
+            GROUP BY user_id
+            HAVING count(*) > :cap
+            """, nativeQuery = true)
+    List<Long> findUserIdsWithUnreadOver(int cap);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM notifications
+            WHERE id IN (
+                SELECT id FROM notifications
+                WHERE user_id = :userId AND is_read = false
+                ORDER BY sent_at DESC, id DESC
+                OFFSET :cap
+                LIMIT :limit
+            )
+            """, nativeQuery = true)
+    int deleteUnreadOverCap(Long userId, int cap, int limit);
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package org.example.api.repository;
+
+import org.example.api.model.ReservationStatus;
+
+import java.time.LocalDateTime;
+
+public record ReservationFilter(
+        ReservationStatus status,
+        LocalDateTime from,
+        LocalDateTime to,
+        Long tableId,
+        Long waiterId
+) {
+    public ReservationFilter withWaiterId(Long waiterId) {
+        return new ReservationFilter(status, from, to, tableId, waiterId);
+    }
+}
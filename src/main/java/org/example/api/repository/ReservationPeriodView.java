@@ -0,0 +1,9 @@
+package org.example.api.repository;
+
+import java.time.LocalDateTime;
+
+public interface ReservationPeriodView {
+    Long getTableId();
+    LocalDateTime getStartsAt();
+    LocalDateTime getEndsAt();
+}
@@ -2,6 +2,7 @@ package org.example.api.repository;
 
 import org.example.api.model.Reservation;
 import org.example.api.model.ReservationStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,7 +11,7 @@ import java.util.List;
 import java.util.Set;
 
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, ReservationRepositoryCustom {
     @Query(value = """
         SELECT r.* FROM reservations r
         WHERE r.status IN ('PENDING', 'CONFIRMED')
@@ -18,25 +19,55 @@ public interface ReservationRepository extends JpaRepository<Reservation, Long>
     """, nativeQuery = true)
     List<Reservation> findOverlappingReservations(LocalDateTime start, LocalDateTime end);
 
-    List<Reservation> findAllByClientId(Long clientId);
+    @Query(value = """
+        SELECT r.table_id AS "tableId",
+               lower(r.reservation_period) AS "startsAt",
+               upper(r.reservation_period) AS "endsAt"
+        FROM reservations r
+        WHERE r.status IN ('PENDING', 'CONFIRMED')
+        AND r.reservation_period && tsrange(?1, ?2)
+    """, nativeQuery = true)
+    List<ReservationPeriodView> findActivePeriodsOverlapping(LocalDateTime start, LocalDateTime end);
+
+    @Query(value = """
+        SELECT r.* FROM reservations r
+        WHERE r.status IN ('PENDING', 'CONFIRMED')
+        AND upper(r.reservation_period) > ?1
+    """, nativeQuery = true)
+    List<Reservation> findActiveReservationsEndingAfter(LocalDateTime threshold);
 
-    List<Reservation> findAllByWaiterId(Long waiterId);
+    @EntityGraph(Reservation.LISTING_GRAPH)
+    List<Reservation> findAllByClientId(Long clientId);
 
     boolean existsByRestaurantTableIdAndStatusIn(Long tableId, Set<ReservationStatus> statuses);
 
     @Query(value = """
-        SELECT r.* FROM reservations r
-        WHERE r.status = 'CONFIRMED'
-        AND upper(r.reservation_period) < ?1
+        UPDATE reservations SET status = 'COMPLETED'
+        WHERE id IN (
+            SELECT r.id FROM reservations r
+            WHERE r.status = 'CONFIRMED'
+            AND upper(r.reservation_period) < ?1
+            ORDER BY r.id
+            LIMIT ?2
+            FOR UPDATE SKIP LOCKED
+        )
+        RETURNING id
     """, nativeQuery = true)
-    List<Reservation> findExpiredReservations(LocalDateTime threshold);
+    List<Long> completeExpiredReservations(LocalDateTime threshold, int limit);
 
     boolean existsByWaiterIdAndStatusIn(Long waiterId, Set<ReservationStatus> statuses);
 
     @Query(value = """
-     SELECT r.* FROM reservations r
-     WHERE r.status = 'PENDING'
-     AND lower(r.reservation_period) < ?1
+     UPDATE reservations SET status = 'CANCELLED'
+     WHERE id IN (
+         SELECT r.id FROM reservations r
+         WHERE r.status = 'PENDING'
+         AND lower(r.reservation_period) < ?1
+         ORDER BY r.id
+         LIMIT ?2
+         FOR UPDATE SKIP LOCKED
+     )
+     RETURNING id
      """, nativeQuery = true)
-    List<Reservation> findNotConfirmedReservations(LocalDateTime threshold);
+    List<Long> cancelNotConfirmedReservations(LocalDateTime threshold, int limit);
 }
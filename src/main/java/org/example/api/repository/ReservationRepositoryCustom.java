@@ -0,0 +1,9 @@
+package org.example.api.repository;
+
+import org.example.api.model.Reservation;
+
+import java.util.List;
+
+public interface ReservationRepositoryCustom {
+    List<Reservation> findPage(ReservationFilter filter, Keyset after, int limit);
+}
@@ -0,0 +1,73 @@
+package org.example.api.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import lombok.RequiredArgsConstructor;
+import org.example.api.model.Reservation;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@RequiredArgsConstructor
+public class ReservationRepositoryCustomImpl implements ReservationRepositoryCustom {
+
+    private static final String FETCH_GRAPH_HINT = "jakarta.persistence.fetchgraph";
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Reservation> findPage(ReservationFilter filter, Keyset after, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+
+        if (filter.status() != null) {
+            conditions.add("r.status = :status");
+            parameters.put("status", filter.status().name());
+        }
+        if (filter.from() != null) {
+            conditions.add("lower(r.reservation_period) >= :from");
+            parameters.put("from", filter.from());
+        }
+        if (filter.to() != null) {
+            conditions.add("lower(r.reservation_period) < :to");
+            parameters.put("to", filter.to());
+        }
+        if (filter.tableId() != null) {
+            conditions.add("r.table_id = :tableId");
+            parameters.put("tableId", filter.tableId());
+        }
+        if (filter.waiterId() != null) {
+            conditions.add("r.waiter_id = :waiterId");
+            parameters.put("waiterId", filter.waiterId());
+        }
+        if (after != null) {
+            conditions.add("(lower(r.reservation_period), r.id) < (:afterPosition, :afterId)");
+            parameters.put("afterPosition", after.position());
+            parameters.put("afterId", after.id());
+        }
+
+        String sql = "SELECT r.id FROM reservations r"
+                + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY lower(r.reservation_period) DESC, r.id DESC LIMIT :limit";
+
+        Query query = entityManager.createNativeQuery(sql, Long.class);
+        parameters.forEach(query::setParameter);
+        query.setParameter("limit", limit);
+
+        @SuppressWarnings("unchecked")
+        List<Long> ids = query.getResultList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Reservation> byId = entityManager
+                .createQuery("SELECT r FROM Reservation r WHERE r.id IN :ids", Reservation.class)
+                .setParameter("ids", ids)
+                .setHint(FETCH_GRAPH_HINT, entityManager.getEntityGraph(Reservation.LISTING_GRAPH))
+                .getResultStream()
+                .collect(Collectors.toMap(Reservation::getId, Function.identity()));
+
+        return ids.stream().map(byId::get).toList();
+    }
+}
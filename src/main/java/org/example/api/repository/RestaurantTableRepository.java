@@ -1,6 +1,7 @@
 package org.example.api.repository;
 
 import org.example.api.model.RestaurantTable;
+import org.example.api.model.TableType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,6 +12,8 @@ public interface RestaurantTableRepository extends JpaRepository<org.example.api
 
     List<RestaurantTable> findAllByIsActive(boolean isActive);
 
+    List<RestaurantTable> findAllByIsActiveTrueAndTableTypeOrderByIdAsc(TableType tableType);
+
     boolean existsByTableNumberAndIsActiveTrue(Integer tableNumber);
 
     boolean existsByRowPositionAndColumnPositionAndIsActiveTrue(Integer rowPosition, Integer columnPosition);
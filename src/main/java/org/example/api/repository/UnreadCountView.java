@@ -0,0 +1,6 @@
+package org.example.api.repository;
+
+public interface UnreadCountView {
+    Long getUserId();
+    long getUnread();
+}
@@ -3,6 +3,7 @@ package org.example.api.repository;
 import org.example.api.model.Role;
 import org.example.api.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,4 +13,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
     Optional<User> findByEmail(String email);
     boolean existsByRole(Role role);
+
+    @Query("SELECT u.tokenVersion AS tokenVersion, u.isActive AS active FROM User u WHERE u.id = :id")
+    Optional<UserTokenStateView> findTokenStateById(Long id);
 }
\ No newline at end of file
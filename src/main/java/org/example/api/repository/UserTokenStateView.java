@@ -0,0 +1,6 @@
+package org.example.api.repository;
+
+public interface UserTokenStateView {
+    int getTokenVersion();
+    boolean getActive();
+}
\ No newline at end of file
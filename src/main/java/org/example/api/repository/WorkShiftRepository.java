@@ -9,6 +9,7 @@ import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface WorkShiftRepository extends JpaRepository<WorkShift, Long> {
@@ -22,6 +23,25 @@ public interface WorkShiftRepository extends JpaRepository<WorkShift, Long> {
     """, nativeQuery = true)
     List<WorkShift> findShiftsCoveringPeriod(LocalDateTime start, LocalDateTime end);
 
+    @Query(value = """
+        SELECT ws.waiter_id FROM work_shifts ws
+        JOIN waiters w ON w.id = ws.waiter_id
+        JOIN users u ON u.id = w.id
+        LEFT JOIN reservations r ON r.waiter_id = ws.waiter_id
+            AND r.status IN ('PENDING', 'CONFIRMED')
+            AND r.reservation_period && ws.shift_period
+        WHERE ws.shift_period @> tsrange(?1, ?2)
+        AND u.is_active = true
+        GROUP BY ws.waiter_id, w.speaks_english
+        ORDER BY CASE WHEN ?3 AND w.speaks_english <> ?4 THEN 1 ELSE 0 END,
+                 COUNT(DISTINCT r.id) FILTER (WHERE r.reservation_period && tsrange(?1, ?2)),
+                 COUNT(DISTINCT r.id),
+                 ws.waiter_id
+        LIMIT 1
+    """, nativeQuery = true)
+    Optional<Long> findLeastLoadedWaiterId(LocalDateTime start, LocalDateTime end,
+                                           boolean hasLanguagePreference, boolean speaksEnglish);
+
     @Query(value = """
         SELECT COUNT(*) > 0 FROM work_shifts
         WHERE waiter_id = ?1
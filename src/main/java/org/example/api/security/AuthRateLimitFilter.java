@@ -0,0 +1,208 @@
+package org.example.api.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String REJECTED_METRIC = "auth.rate-limit.rejected";
+    private static final String LOGIN_PATH = "/api/auth/login";
+    private static final Set<String> LIMITED_PATHS = Set.of(
+            LOGIN_PATH,
+            "/api/auth/register",
+            "/api/auth/forgot-password"
+    );
+
+    private final TokenBucketRateLimiter ipLimiter;
+    private final TokenBucketRateLimiter emailLimiter;
+    private final ObjectMapper objectMapper;
+    private final int maxBodyBytes;
+
+    private final Counter ipRejectedCounter;
+    private final Counter emailRejectedCounter;
+
+    public AuthRateLimitFilter(ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${auth.rate-limit.ip.capacity:20}") int ipCapacity,
+                               @Value("${auth.rate-limit.ip.refill-period:PT1M}") Duration ipRefillPeriod,
+                               @Value("${auth.rate-limit.email.capacity:5}") int emailCapacity,
+                               @Value("${auth.rate-limit.email.refill-period:PT15M}") Duration emailRefillPeriod,
+                               @Value("${auth.rate-limit.max-keys:100000}") int maxKeys,
+                               @Value("${auth.rate-limit.stripes:64}") int stripes,
+                               @Value("${auth.rate-limit.max-body-bytes:8192}") int maxBodyBytes) {
+        this.ipLimiter = new TokenBucketRateLimiter(ipCapacity, ipRefillPeriod, maxKeys, stripes);
+        this.emailLimiter = new TokenBucketRateLimiter(emailCapacity, emailRefillPeriod, maxKeys, stripes);
+        this.objectMapper = objectMapper;
+        this.maxBodyBytes = maxBodyBytes;
+
+        Gauge.builder("auth.rate-limit.buckets", ipLimiter, TokenBucketRateLimiter::size).tag("key", "ip").register(meterRegistry);
+        Gauge.builder("auth.rate-limit.buckets", emailLimiter, TokenBucketRateLimiter::size).tag("key", "email").register(meterRegistry);
+        this.ipRejectedCounter = Counter.builder(REJECTED_METRIC).tag("key", "ip").register(meterRegistry);
+        this.emailRejectedCounter = Counter.builder(REJECTED_METRIC).tag("key", "email").register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod()) || !LIMITED_PATHS.contains(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        long waitNanos = ipLimiter.tryAcquire(request.getRemoteAddr());
+        if (waitNanos > 0) {
+            ipRejectedCounter.increment();
+            sendTooManyRequests(response, waitNanos);
+            return;
+        }
+
+        byte[] body = request.getInputStream().readNBytes(maxBodyBytes + 1);
+        if (body.length > maxBodyBytes) {
+            sendErrorResponse(response, HttpStatus.PAYLOAD_TOO_LARGE, "Payload Too Large",
+                    "ERR_PAYLOAD_TOO_LARGE", "Treść żądania jest zbyt duża");
+            return;
+        }
+
+        String email = extractEmail(body);
+        if (email == null) {
+            sendErrorResponse(response, HttpStatus.BAD_REQUEST, "Bad Request",
+                    "ERR_INVALID_REQUEST", "Nieprawidłowa treść żądania");
+            return;
+        }
+
+        waitNanos = emailLimiter.tryAcquire(email);
+        if (waitNanos > 0) {
+            emailRejectedCounter.increment();
+            sendTooManyRequests(response, waitNanos);
+            return;
+        }
+
+        filterChain.doFilter(new CachedBodyRequest(request, body), response);
+
+        if (LOGIN_PATH.equals(request.getServletPath()) && HttpStatus.valueOf(response.getStatus()).is2xxSuccessful()) {
+            emailLimiter.refund(email);
+        }
+    }
+
+    private String extractEmail(byte[] body) {
+        try {
+            JsonNode email = objectMapper.readTree(body).path("email");
+            return email.isTextual() && !email.asText().isBlank() ? email.asText().strip().toLowerCase(Locale.ROOT) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void sendTooManyRequests(HttpServletResponse response, long waitNanos) throws IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1)));
+        sendErrorResponse(response, HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests",
+                "ERR_TOO_MANY_REQUESTS", "Zbyt wiele prób. Spróbuj ponownie później.");
+    }
+
+    private void sendErrorResponse(HttpServletResponse response, HttpStatus status, String title, String errorCode,
+                                   String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+
+        String jsonResponse = String.format(
+                "{\"type\":\"about:blank\",\"title\":\"%s\",\"status\":%d,\"detail\":\"%s\",\"instance\":\"/api/auth/filter\",\"error\":\"%s\"}",
+                title, status.value(), message, errorCode
+        );
+
+        response.getWriter().write(jsonResponse);
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    try {
+                        readListener.onDataAvailable();
+                        readListener.onAllDataRead();
+                    } catch (IOException e) {
+                        readListener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(@NonNull byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package org.example.api.security;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+public final class BCryptStrengthCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "kalibracja-hasla";
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(minStrength);
+        encoder.encode(SAMPLE_PASSWORD);
+
+        long start = System.nanoTime();
+        encoder.encode(SAMPLE_PASSWORD);
+        long elapsed = System.nanoTime() - start;
+
+        int strength = minStrength;
+        long target = targetLatency.toNanos();
+        while (strength < maxStrength && elapsed * 2 <= target) {
+            strength++;
+            elapsed *= 2;
+        }
+        return strength;
+    }
+}
\ No newline at end of file
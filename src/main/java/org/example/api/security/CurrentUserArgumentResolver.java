@@ -0,0 +1,52 @@
+package org.example.api.security;
+
+import org.example.api.model.User;
+import org.springframework.core.MethodParameter;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String ATTRIBUTE = CurrentUserArgumentResolver.class.getName() + ".PRINCIPAL";
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && parameter.getParameterType().equals(JwtPrincipal.class);
+    }
+
+    @Override
+    public JwtPrincipal resolveArgument(@NonNull MethodParameter parameter,
+                                        ModelAndViewContainer mavContainer,
+                                        @NonNull NativeWebRequest webRequest,
+                                        WebDataBinderFactory binderFactory) {
+        Object cached = webRequest.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof JwtPrincipal principal) {
+            return principal;
+        }
+
+        JwtPrincipal principal = fromAuthentication(SecurityContextHolder.getContext().getAuthentication());
+        webRequest.setAttribute(ATTRIBUTE, principal, RequestAttributes.SCOPE_REQUEST);
+        return principal;
+    }
+
+    private static JwtPrincipal fromAuthentication(Authentication authentication) {
+        Object principal = authentication == null ? null : authentication.getPrincipal();
+
+        if (principal instanceof JwtPrincipal jwtPrincipal) {
+            return jwtPrincipal;
+        }
+        if (principal instanceof UserAdapter adapter) {
+            User user = adapter.getUser();
+            return new JwtPrincipal(user.getId(), user.getEmail(), user.getRole());
+        }
+        throw new AuthenticationCredentialsNotFoundException("Brak zalogowanego użytkownika");
+    }
+}
\ No newline at end of file
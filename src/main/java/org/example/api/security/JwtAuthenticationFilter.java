@@ -7,7 +7,11 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.example.api.model.Role;
+import org.example.api.service.JwtClaims;
 import org.example.api.service.JwtService;
+import org.example.api.service.UserTokenStateCache;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,6 +29,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final UserDetailsService userDetailsService;
+    private final UserTokenStateCache tokenStateCache;
+
+    @Value("${auth.claims-principal.enabled:true}")
+    private boolean claimsPrincipalEnabled;
 
     @Override
     protected void doFilterInternal(
@@ -34,8 +42,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -43,23 +49,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         try {
-            jwt = authHeader.substring(7);
-            userEmail = jwtService.extractUsername(jwt);
-
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-
-                if (jwtService.isTokenValid(jwt, userDetails)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
-                    authToken.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request)
-                    );
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+            JwtClaims claims = jwtService.parseToken(authHeader.substring(7));
+
+            if (claims.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails = resolvePrincipal(claims);
+
+                if (userDetails == null) {
+                    sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, "ERR_TOKEN_REVOKED", "Token został unieważniony");
+                    return;
                 }
+
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails,
+                        null,
+                        userDetails.getAuthorities()
+                );
+                authToken.setDetails(
+                        new WebAuthenticationDetailsSource().buildDetails(request)
+                );
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
 
             filterChain.doFilter(request, response);
@@ -73,6 +81,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
+    private UserDetails resolvePrincipal(JwtClaims claims) {
+        if (claimsPrincipalEnabled && claims.userId() != null && claims.role() != null) {
+            if (!tokenStateCache.isCurrent(claims.userId(), claims.tokenVersion())) {
+                return null;
+            }
+            return new JwtPrincipal(claims.userId(), claims.subject(), Role.valueOf(claims.role()));
+        }
+
+        UserDetails userDetails = this.userDetailsService.loadUserByUsername(claims.subject());
+        if (!jwtService.isTokenValid(claims, userDetails)) {
+            return null;
+        }
+        if (userDetails instanceof UserAdapter adapter
+                && (!adapter.isEnabled() || adapter.getUser().getTokenVersion() != claims.tokenVersion())) {
+            return null;
+        }
+        return userDetails;
+    }
+
     private void sendErrorResponse(HttpServletResponse response, int status, String errorCode, String message) throws IOException {
         response.setStatus(status);
         response.setContentType("application/json");
@@ -1,7 +1,11 @@
 package org.example.api.service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import org.example.api.dto.*;
+import org.example.api.event.ActivationEmailRequestedEvent;
+import org.example.api.event.PasswordResetRequestedEvent;
+import org.example.api.event.UserCredentialsChangedEvent;
 import org.example.api.exception.*;
 import org.example.api.model.*;
 import org.example.api.repository.ActivationTokenRepository;
@@ -9,6 +13,9 @@ import org.example.api.repository.ClientRepository;
 import org.example.api.repository.PasswordResetTokenRepository;
 import org.example.api.repository.UserRepository;
 import org.example.api.security.UserAdapter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -30,12 +37,20 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
-    private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
 
     private static final String USER_NOT_FOUND_MESSAGE = "ERR_USER_NOT_FOUND";
-    @Transactional
+
+    @Setter(onMethod_ = {@Autowired, @Lazy})
+    private AuthService self;
+
     public void register(RegisterRequest request) {
+        self.register(request, passwordEncoder.encode(request.password()));
+    }
+
+    @Transactional
+    public void register(RegisterRequest request, String passwordHash) {
         Optional<User> existingUser = userRepository.findByEmail(request.email());
 
         if (existingUser.isPresent()) {
@@ -51,7 +66,7 @@ public class AuthService {
                 user.setFirstName(request.firstName());
                 user.setLastName(request.lastName());
                 user.setPhoneNumber(request.phoneNumber());
-                user.setPasswordHash(passwordEncoder.encode(request.password()));
+                user.setPasswordHash(passwordHash);
 
                 userRepository.save(user);
                 generateActivationToken(user);
@@ -61,7 +76,7 @@ public class AuthService {
 
         User user = User.builder()
                 .email(request.email())
-                .passwordHash(passwordEncoder.encode(request.password()))
+                .passwordHash(passwordHash)
                 .firstName(request.firstName())
                 .lastName(request.lastName())
                 .phoneNumber(request.phoneNumber())
@@ -108,7 +123,10 @@ public class AuthService {
             throw new InactiveAccountException("Konto nie zostało aktywowane");
         }
 
-        Map<String, Object> extraClaims = Map.of("role", user.getRole().name(), "id", user.getId());
+        Map<String, Object> extraClaims = Map.of(
+                JwtService.ROLE_CLAIM, user.getRole().name(),
+                JwtService.ID_CLAIM, user.getId(),
+                JwtService.VERSION_CLAIM, user.getTokenVersion());
         String jwtToken = jwtService.generateToken(extraClaims, new UserAdapter(user));
 
         UserResponse userResponse = new UserResponse(
@@ -122,17 +140,31 @@ public class AuthService {
         return new AuthResponse(jwtToken, userResponse);
     }
 
-    @Transactional
     public void changePassword(String email, ChangePasswordRequest request) {
+        String currentHash = userRepository.findByEmail(email)
+                .map(User::getPasswordHash)
+                .orElseThrow(() -> new UserNotFoundException(USER_NOT_FOUND_MESSAGE));
+
+        if (!passwordEncoder.matches(request.oldPassword(), currentHash)) {
+            throw new ChangePasswordOldPasswordWrongException("Niepoprawne stare hasło");
+        }
+
+        self.changePassword(email, currentHash, passwordEncoder.encode(request.newPassword()));
+    }
+
+    @Transactional
+    public void changePassword(String email, String expectedHash, String newPasswordHash) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException(USER_NOT_FOUND_MESSAGE));
 
-        if (!passwordEncoder.matches(request.oldPassword(), user.getPasswordHash())) {
+        if (!user.getPasswordHash().equals(expectedHash)) {
             throw new ChangePasswordOldPasswordWrongException("Niepoprawne stare hasło");
         }
 
-        user.setPasswordHash(passwordEncoder.encode(request.newPassword()));
+        user.setPasswordHash(newPasswordHash);
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(user.getId()));
     }
 
     @Transactional
@@ -149,25 +181,37 @@ public class AuthService {
 
             passwordResetTokenRepository.save(resetToken);
 
-            emailService.sendPasswordResetEmail(user.getEmail(), token);
+            eventPublisher.publishEvent(new PasswordResetRequestedEvent(user.getEmail(), token));
         });
     }
-    @Transactional
     public void resetPassword(ResetPasswordRequest request) {
-        PasswordResetToken resetToken = passwordResetTokenRepository.findByToken(request.token())
-                .orElseThrow(() -> new InvalidTokenException("Nieprawidłowy PasswordResetToken"));
+        findValidResetToken(request.token());
+        self.resetPassword(request, passwordEncoder.encode(request.newPassword()));
+    }
 
-        if (resetToken.getExpiresAt().isBefore(LocalDateTime.now())) {
-            throw new TokenExpiredException("Token stracił ważność");
-        }
+    @Transactional
+    public void resetPassword(ResetPasswordRequest request, String newPasswordHash) {
+        PasswordResetToken resetToken = findValidResetToken(request.token());
 
         User user = resetToken.getUser();
-        user.setPasswordHash(passwordEncoder.encode(request.newPassword()));
+        user.setPasswordHash(newPasswordHash);
+        user.setTokenVersion(user.getTokenVersion() + 1);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(user.getId()));
 
         passwordResetTokenRepository.delete(resetToken);
     }
 
+    private PasswordResetToken findValidResetToken(String token) {
+        PasswordResetToken resetToken = passwordResetTokenRepository.findByToken(token)
+                .orElseThrow(() -> new InvalidTokenException("Nieprawidłowy PasswordResetToken"));
+
+        if (resetToken.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new TokenExpiredException("Token stracił ważność");
+        }
+        return resetToken;
+    }
+
     private void generateActivationToken(User user) {
         String token = UUID.randomUUID().toString();
 
@@ -180,6 +224,6 @@ public class AuthService {
 
         tokenRepository.save(activationToken);
 
-        emailService.sendActivationEmail(user.getEmail(), user.getFirstName(), token);
+        eventPublisher.publishEvent(new ActivationEmailRequestedEvent(user.getEmail(), user.getFirstName(), token));
     }
 }
\ No newline at end of file
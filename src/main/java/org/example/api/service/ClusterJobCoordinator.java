@@ -0,0 +1,93 @@
+package org.example.api.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.support.CronExpression;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Component
+@RequiredArgsConstructor
+public class ClusterJobCoordinator {
+
+    private static final int LOCK_NAMESPACE = 0x4A4F42;
+    private static final String TRY_LOCK_SQL = "SELECT pg_try_advisory_lock(?, hashtext(?))";
+    private static final String UNLOCK_SQL = "SELECT pg_advisory_unlock(?, hashtext(?))";
+    private static final String CLAIM_TICK_SQL = """
+            INSERT INTO scheduler_job_leases (job_name, leased_until)
+            VALUES (?, now() + make_interval(secs => ?))
+            ON CONFLICT (job_name) DO UPDATE SET leased_until = EXCLUDED.leased_until
+            WHERE scheduler_job_leases.leased_until <= now()
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MeterRegistry meterRegistry;
+
+    public boolean runExclusively(String jobName, Runnable job) {
+        return run(jobName, null, job);
+    }
+
+    public boolean runOncePerTick(String jobName, String cron, Runnable job) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime nextTick = CronExpression.parse(cron).next(now);
+        return run(jobName, Duration.between(now, nextTick).dividedBy(2), job);
+    }
+
+    private boolean run(String jobName, Duration lease, Runnable job) {
+        Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            Timer.Sample waiting = Timer.start(meterRegistry);
+            boolean acquired = call(connection, TRY_LOCK_SQL, jobName);
+            waiting.stop(meterRegistry.timer("scheduler.lock.wait", "job", jobName));
+
+            if (!acquired) {
+                meterRegistry.counter("scheduler.lock.skipped", "job", jobName).increment();
+                return false;
+            }
+
+            Timer.Sample holding = null;
+            try {
+                if (lease != null && !claimTick(connection, jobName, lease)) {
+                    meterRegistry.counter("scheduler.lock.skipped", "job", jobName).increment();
+                    return false;
+                }
+                holding = Timer.start(meterRegistry);
+                job.run();
+            } finally {
+                call(connection, UNLOCK_SQL, jobName);
+                if (holding != null) {
+                    holding.stop(meterRegistry.timer("scheduler.lock.hold", "job", jobName));
+                }
+            }
+            return true;
+        });
+
+        return Boolean.TRUE.equals(ran);
+    }
+
+    private static boolean claimTick(Connection connection, String jobName, Duration lease) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(CLAIM_TICK_SQL)) {
+            statement.setString(1, jobName);
+            statement.setDouble(2, lease.toMillis() / 1000.0);
+            return statement.executeUpdate() == 1;
+        }
+    }
+
+    private static boolean call(Connection connection, String sql, String jobName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, LOCK_NAMESPACE);
+            statement.setString(2, jobName);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+}
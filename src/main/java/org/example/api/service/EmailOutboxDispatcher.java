@@ -0,0 +1,213 @@
+package org.example.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.Setter;
+import org.example.api.model.EmailOutboxMessage;
+import org.example.api.model.EmailOutboxStatus;
+import org.example.api.repository.EmailOutboxRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class EmailOutboxDispatcher {
+
+    private static final String FAILURES_METRIC = "email.outbox.failures";
+    private static final long RATE_WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final String MAIL_CHARSET = "UTF-8";
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final ClusterJobCoordinator jobCoordinator;
+    private final int batchSize;
+    private final int maxPerMinute;
+    private final int maxAttempts;
+    private final Duration backoffBase;
+    private final Duration backoffMax;
+    private final Duration claimTimeout;
+
+    private final Counter sentCounter;
+    private final Counter retryCounter;
+    private final Counter abandonedCounter;
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    private long windowStartMillis;
+    private int sentInWindow;
+
+    @Setter(onMethod_ = {@Autowired, @Lazy})
+    private EmailOutboxDispatcher self;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository,
+                                 JavaMailSender mailSender,
+                                 ClusterJobCoordinator jobCoordinator,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${email.outbox.batch-size:50}") int batchSize,
+                                 @Value("${email.outbox.max-per-minute:120}") int maxPerMinute,
+                                 @Value("${email.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${email.outbox.backoff-base:PT30S}") Duration backoffBase,
+                                 @Value("${email.outbox.backoff-max:PT1H}") Duration backoffMax,
+                                 @Value("${email.outbox.claim-timeout:PT5M}") Duration claimTimeout) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.jobCoordinator = jobCoordinator;
+        this.batchSize = batchSize;
+        this.maxPerMinute = maxPerMinute;
+        this.maxAttempts = maxAttempts;
+        this.backoffBase = backoffBase;
+        this.backoffMax = backoffMax;
+        this.claimTimeout = claimTimeout;
+
+        this.sentCounter = Counter.builder("email.outbox.sent").register(meterRegistry);
+        this.retryCounter = Counter.builder(FAILURES_METRIC).tag("outcome", "retry").register(meterRegistry);
+        this.abandonedCounter = Counter.builder(FAILURES_METRIC).tag("outcome", "abandoned").register(meterRegistry);
+        Gauge.builder("email.outbox.lag", lagSeconds, AtomicLong::get).baseUnit("seconds").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval:PT5S}")
+    public void dispatch() {
+        jobCoordinator.runExclusively("email.outbox", () -> {
+            int picked;
+            do {
+                int limit = Math.min(batchSize, allowance());
+                if (limit == 0) {
+                    break;
+                }
+                picked = self.dispatchBatch(limit);
+                sentInWindow += picked;
+            } while (picked == batchSize);
+
+            lagSeconds.set(outboxRepository.findOldestPendingCreatedAt()
+                    .map(oldest -> Duration.between(oldest, LocalDateTime.now()).toSeconds())
+                    .orElse(0L));
+        });
+    }
+
+    public int dispatchBatch(int limit) {
+        List<EmailOutboxMessage> claimed = self.claim(limit);
+        Map<MimeMessage, EmailOutboxMessage> outgoing = new LinkedHashMap<>();
+        Map<EmailOutboxMessage, Exception> failed = new LinkedHashMap<>();
+
+        for (EmailOutboxMessage message : claimed) {
+            try {
+                outgoing.put(toMimeMessage(message), message);
+            } catch (MessagingException e) {
+                failed.put(message, e);
+            }
+        }
+
+        List<EmailOutboxMessage> sent = new ArrayList<>();
+        Map<Object, Exception> failures = send(outgoing.keySet());
+        outgoing.forEach((mimeMessage, message) -> {
+            Exception failure = failures.get(mimeMessage);
+            if (failure == null) {
+                sent.add(message);
+            } else {
+                failed.put(message, failure);
+            }
+        });
+
+        self.record(sent, failed);
+        return claimed.size();
+    }
+
+    @Transactional
+    public List<EmailOutboxMessage> claim(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutboxMessage> due = outboxRepository.lockDue(now, limit);
+        due.forEach(message -> message.setNextAttemptAt(now.plus(claimTimeout)));
+        return due;
+    }
+
+    @Transactional
+    public void record(List<EmailOutboxMessage> sent, Map<EmailOutboxMessage, Exception> failed) {
+        if (!sent.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(sent.stream().map(EmailOutboxMessage::getId).toList());
+            sentCounter.increment(sent.size());
+        }
+
+        if (!failed.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            failed.forEach((message, failure) -> reschedule(message, failure, now));
+            outboxRepository.saveAll(failed.keySet());
+        }
+    }
+
+    private Map<Object, Exception> send(Set<MimeMessage> messages) {
+        if (messages.isEmpty()) {
+            return Map.of();
+        }
+
+        try {
+            mailSender.send(messages.toArray(MimeMessage[]::new));
+            return Map.of();
+        } catch (MailSendException e) {
+            return e.getFailedMessages().isEmpty() ? allFailed(messages, e) : e.getFailedMessages();
+        } catch (MailException e) {
+            return allFailed(messages, e);
+        }
+    }
+
+    private MimeMessage toMimeMessage(EmailOutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        mimeMessage.setRecipients(Message.RecipientType.TO, message.getRecipient());
+        mimeMessage.setSubject(message.getSubject(), MAIL_CHARSET);
+        mimeMessage.setText(message.getBody(), MAIL_CHARSET, "html");
+        return mimeMessage;
+    }
+
+    private void reschedule(EmailOutboxMessage message, Exception failure, LocalDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(truncate(String.valueOf(failure.getMessage())));
+
+        if (attempts >= maxAttempts) {
+            message.setStatus(EmailOutboxStatus.FAILED);
+            abandonedCounter.increment();
+        } else {
+            message.setNextAttemptAt(now.plus(backoff(attempts)));
+            retryCounter.increment();
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = backoffBase.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(backoffMax) > 0 ? backoffMax : delay;
+    }
+
+    private int allowance() {
+        long now = System.currentTimeMillis();
+        if (now - windowStartMillis >= RATE_WINDOW_MILLIS) {
+            windowStartMillis = now;
+            sentInWindow = 0;
+        }
+        return Math.max(0, maxPerMinute - sentInWindow);
+    }
+
+    private static Map<Object, Exception> allFailed(Set<MimeMessage> messages, Exception failure) {
+        Map<Object, Exception> failures = new HashMap<>();
+        messages.forEach(message -> failures.put(message, failure));
+        return failures;
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -0,0 +1,31 @@
+package org.example.api.service;
+
+import java.util.List;
+
+public enum EmailTemplate {
+
+    ACTIVATION("mail/activation.html", "Potwierdzenie rejestracji w Restauracji", "firstName", "activationUrl"),
+    PASSWORD_RESET("mail/password-reset.html", "Resetowanie hasła", "resetUrl");
+
+    private final String resource;
+    private final String subject;
+    private final List<String> slots;
+
+    EmailTemplate(String resource, String subject, String... slots) {
+        this.resource = resource;
+        this.subject = subject;
+        this.slots = List.of(slots);
+    }
+
+    public String getResource() {
+        return resource;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public List<String> getSlots() {
+        return slots;
+    }
+}
\ No newline at end of file
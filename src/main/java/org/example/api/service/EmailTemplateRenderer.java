@@ -0,0 +1,115 @@
+package org.example.api.service;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class EmailTemplateRenderer {
+
+    private static final String SLOT_OPEN = "{{";
+    private static final String SLOT_CLOSE = "}}";
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private final Map<EmailTemplate, Segment[]> compiled = new EnumMap<>(EmailTemplate.class);
+    private final ThreadLocal<StringBuilder> buffers = ThreadLocal.withInitial(() -> new StringBuilder(1024));
+
+    public EmailTemplateRenderer() {
+        for (EmailTemplate template : EmailTemplate.values()) {
+            compiled.put(template, compile(template, load(template)));
+        }
+    }
+
+    public String render(EmailTemplate template, String... values) {
+        if (values.length != template.getSlots().size()) {
+            throw new IllegalArgumentException("Szablon " + template + " wymaga wartości: " + template.getSlots());
+        }
+
+        StringBuilder buffer = buffers.get();
+        buffer.setLength(0);
+
+        for (Segment segment : compiled.get(template)) {
+            if (segment.slot() < 0) {
+                buffer.append(segment.text());
+            } else {
+                appendEscaped(buffer, values[segment.slot()]);
+            }
+        }
+
+        String rendered = buffer.toString();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            buffers.remove();
+        }
+        return rendered;
+    }
+
+    private static void appendEscaped(StringBuilder buffer, String value) {
+        if (value == null) {
+            return;
+        }
+
+        int from = 0;
+        for (int i = 0; i < value.length(); i++) {
+            String entity = switch (value.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (entity != null) {
+                buffer.append(value, from, i).append(entity);
+                from = i + 1;
+            }
+        }
+        buffer.append(value, from, value.length());
+    }
+
+    private static String load(EmailTemplate template) {
+        try (InputStream in = new ClassPathResource(template.getResource()).getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nie udało się wczytać szablonu e-mail: " + template.getResource(), e);
+        }
+    }
+
+    private static Segment[] compile(EmailTemplate template, String source) {
+        List<Segment> segments = new ArrayList<>();
+        int from = 0;
+
+        for (int open = source.indexOf(SLOT_OPEN); open >= 0; open = source.indexOf(SLOT_OPEN, from)) {
+            int close = source.indexOf(SLOT_CLOSE, open);
+            if (close < 0) {
+                throw new IllegalStateException("Niezamknięte pole w szablonie e-mail: " + template.getResource());
+            }
+
+            String name = source.substring(open + SLOT_OPEN.length(), close).strip();
+            int slot = template.getSlots().indexOf(name);
+            if (slot < 0) {
+                throw new IllegalStateException("Nieznane pole '" + name + "' w szablonie e-mail: " + template.getResource());
+            }
+
+            if (open > from) {
+                segments.add(new Segment(source.substring(from, open), -1));
+            }
+            segments.add(new Segment(null, slot));
+            from = close + SLOT_CLOSE.length();
+        }
+
+        if (from < source.length()) {
+            segments.add(new Segment(source.substring(from), -1));
+        }
+        return segments.toArray(Segment[]::new);
+    }
+
+    private record Segment(String text, int slot) {}
+}
\ No newline at end of file
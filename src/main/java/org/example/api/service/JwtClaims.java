@@ -0,0 +1,12 @@
+package org.example.api.service;
+
+import java.time.Instant;
+
+public record JwtClaims(
+        String subject,
+        Long userId,
+        String role,
+        int tokenVersion,
+        Instant issuedAt,
+        Instant expiresAt
+) {}
\ No newline at end of file
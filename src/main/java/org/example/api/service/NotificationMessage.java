@@ -0,0 +1,17 @@
+package org.example.api.service;
+
+import org.example.api.model.NotificationTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+public record NotificationMessage(
+        Long userId,
+        NotificationTemplate template,
+        List<String> params
+) {
+
+    public static NotificationMessage of(Long userId, NotificationTemplate template, Object... params) {
+        return new NotificationMessage(userId, template, Arrays.stream(params).map(String::valueOf).toList());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package org.example.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Setter;
+import org.example.api.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.function.IntSupplier;
+
+@Service
+public class NotificationRetentionJob {
+
+    private static final String PURGED_METRIC = "notifications.retention.purged";
+
+    private final NotificationRepository notificationRepository;
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationStreamRelay notificationStreams;
+    private final ClusterJobCoordinator jobCoordinator;
+    private final Duration readMaxAge;
+    private final int unreadPerUser;
+    private final int batchSize;
+    private final String cron;
+
+    private final Counter readPurgedCounter;
+    private final Counter unreadPurgedCounter;
+    private final Timer purgeTimer;
+
+    @Setter(onMethod_ = {@Autowired, @Lazy})
+    private NotificationRetentionJob self;
+
+    public NotificationRetentionJob(NotificationRepository notificationRepository,
+                                    UnreadNotificationCounter unreadCounter,
+                                    NotificationStreamRelay notificationStreams,
+                                    ClusterJobCoordinator jobCoordinator,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${notifications.retention.read-max-age:P30D}") Duration readMaxAge,
+                                    @Value("${notifications.retention.unread-per-user:500}") int unreadPerUser,
+                                    @Value("${notifications.retention.batch-size:1000}") int batchSize,
+                                    @Value("${notifications.retention.cron:0 30 3 * * *}") String cron) {
+        this.notificationRepository = notificationRepository;
+        this.unreadCounter = unreadCounter;
+        this.notificationStreams = notificationStreams;
+        this.jobCoordinator = jobCoordinator;
+        this.readMaxAge = readMaxAge;
+        this.unreadPerUser = unreadPerUser;
+        this.batchSize = batchSize;
+        this.cron = cron;
+
+        this.readPurgedCounter = Counter.builder(PURGED_METRIC).tag("policy", "read-expired").register(meterRegistry);
+        this.unreadPurgedCounter = Counter.builder(PURGED_METRIC).tag("policy", "unread-cap").register(meterRegistry);
+        this.purgeTimer = Timer.builder("notifications.retention.duration").register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * *}")
+    public void purge() {
+        jobCoordinator.runOncePerTick("notifications.retention", cron, () -> purgeTimer.record(() -> {
+            LocalDateTime threshold = LocalDateTime.now().minus(readMaxAge);
+            drain(() -> self.purgeReadChunk(threshold), readPurgedCounter);
+
+            for (Long userId : notificationRepository.findUserIdsWithUnreadOver(unreadPerUser)) {
+                drain(() -> self.purgeUnreadChunk(userId), unreadPurgedCounter);
+                unreadCounter.evict(userId);
+                notificationStreams.unreadCountChanged(userId);
+            }
+        }));
+    }
+
+    @Transactional
+    public int purgeReadChunk(LocalDateTime threshold) {
+        return notificationRepository.deleteReadSentBefore(threshold, batchSize);
+    }
+
+    @Transactional
+    public int purgeUnreadChunk(Long userId) {
+        return notificationRepository.deleteUnreadOverCap(userId, unreadPerUser, batchSize);
+    }
+
+    private void drain(IntSupplier chunk, Counter purged) {
+        int deleted;
+        do {
+            deleted = chunk.getAsInt();
+            purged.increment(deleted);
+        } while (deleted >= batchSize);
+    }
+}
@@ -1,85 +1,136 @@
 package org.example.api.service;
 
 import lombok.RequiredArgsConstructor;
-import lombok.Setter;
+import org.example.api.dto.CursorPageResponse;
 import org.example.api.dto.NotificationResponse;
+import org.example.api.event.NotificationsReadEvent;
 import org.example.api.exception.ResourceNotFoundException;
-import org.example.api.model.Notification;
+import org.example.api.model.NotificationTemplate;
 import org.example.api.model.Role;
 import org.example.api.model.User;
+import org.example.api.repository.Keyset;
+import org.example.api.repository.NotificationFeedRow;
 import org.example.api.repository.NotificationRepository;
 import org.example.api.repository.UserRepository;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Lazy;
-import org.springframework.data.domain.Sort;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final NotificationSink notificationSink;
+    private final NotificationStreamRegistry notificationStreams;
+    private final UnreadNotificationCounter unreadCounter;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CursorPageResponse<NotificationResponse> getUserNotifications(String email, String cursor, int size) {
+        return getUserNotifications(userId(email), cursor, size);
+    }
 
-    @Setter(onMethod_ = {@Autowired, @Lazy})
-    private NotificationService self;
+    public CursorPageResponse<NotificationResponse> getUserNotifications(Long userId, String cursor, int size) {
+        int limit = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        Keyset after = (cursor == null || cursor.isBlank()) ? null : Keyset.decode(cursor);
 
-    public List<NotificationResponse> getUserNotifications(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Użytkownik nie istnieje"));
+        List<NotificationFeedRow> rows = after == null
+                ? notificationRepository.findFeed(userId, Limit.of(limit + 1))
+                : notificationRepository.findFeedAfter(userId, after.position(), after.id(), Limit.of(limit + 1));
+        String nextCursor = null;
 
-        return notificationRepository.findAllByUserId(user.getId(), Sort.by("sentAt").descending())
-                .stream()
-                .map(n -> new NotificationResponse(n.getId(), n.getTitle(), n.getContent(), n.getSentAt(), n.isRead()))
-                .toList();
+        if (rows.size() > limit) {
+            rows = rows.subList(0, limit);
+            NotificationFeedRow last = rows.getLast();
+            nextCursor = new Keyset(last.sentAt(), last.id()).encode();
+        }
+
+        return new CursorPageResponse<>(rows.stream().map(NotificationService::render).toList(), nextCursor);
     }
 
     public long getUnreadCount(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Użytkownik nie istnieje"));
-        return notificationRepository.countByUserIdAndIsReadFalse(user.getId());
+        return getUnreadCount(userId(email));
+    }
+
+    public long getUnreadCount(Long userId) {
+        return unreadCounter.get(userId);
+    }
+
+    public SseEmitter openStream(String email) {
+        return openStream(userId(email));
+    }
+
+    public SseEmitter openStream(Long userId) {
+        return notificationStreams.open(userId);
+    }
+
+    @Transactional
+    public void markAsRead(String email, Long notificationId) {
+        markAsRead(userId(email), notificationId);
     }
 
     @Transactional
-    public void markAsRead(Long notificationId) {
-        Notification notification = notificationRepository.findById(notificationId)
-                .orElseThrow(() -> new ResourceNotFoundException("Powiadomienie nie istnieje"));
-        notification.setRead(true);
-        notificationRepository.save(notification);
+    public void markAsRead(Long userId, Long notificationId) {
+        int updated = notificationRepository.markAsRead(userId, List.of(notificationId));
+        if (updated == 0 && !notificationRepository.existsByIdAndUserId(notificationId, userId)) {
+            throw new ResourceNotFoundException("Powiadomienie nie istnieje");
+        }
+        eventPublisher.publishEvent(new NotificationsReadEvent(userId, updated));
     }
 
     @Transactional
-    public void markAllAsRead(String email) {
-        User user = userRepository.findByEmail(email).orElseThrow();
-        List<Notification> notifications = notificationRepository.findAllByUserId(user.getId(), Sort.unsorted());
-        notifications.forEach(n -> n.setRead(true));
-        notificationRepository.saveAll(notifications);
+    public int markAsRead(String email, Collection<Long> notificationIds) {
+        return markAsRead(userId(email), notificationIds);
     }
 
-    @Async
     @Transactional
-    public void notifyUser(User user, String title, String content) {
-        Notification notification = Notification.builder()
-                .user(user)
-                .title(title)
-                .content(content)
-                .sentAt(LocalDateTime.now())
-                .isRead(false)
-                .build();
-        notificationRepository.save(notification);
-    }
-
-    @Async
-    public void notifyAdmins(String title, String content) {
-        userRepository.findAll().stream()
-                .filter(u -> u.getRole() == Role.ROLE_ADMIN && u.isActive())
-                .forEach(admin ->
-                    self.notifyUser(admin, title, content)
-                );
+    public int markAsRead(Long userId, Collection<Long> notificationIds) {
+        int updated = notificationRepository.markAsRead(userId, notificationIds);
+        eventPublisher.publishEvent(new NotificationsReadEvent(userId, updated));
+        return updated;
+    }
+
+    @Transactional
+    public int markAllAsRead(String email) {
+        return markAllAsRead(userId(email));
+    }
+
+    @Transactional
+    public int markAllAsRead(Long userId) {
+        int updated = notificationRepository.markAllAsRead(userId);
+        eventPublisher.publishEvent(new NotificationsReadEvent(userId, updated));
+        return updated;
+    }
+
+    public void send(List<NotificationMessage> messages) {
+        if (!messages.isEmpty()) {
+            notificationSink.submit(messages);
+        }
+    }
+
+    public int notifyRole(Role role, NotificationTemplate template, List<String> params) {
+        return notificationSink.fanOut(role, template, params);
+    }
+
+    private Long userId(String email) {
+        return userRepository.findByEmail(email)
+                .map(User::getId)
+                .orElseThrow(() -> new ResourceNotFoundException("Użytkownik nie istnieje"));
+    }
+
+    private static NotificationResponse render(NotificationFeedRow row) {
+        return new NotificationResponse(row.id(),
+                row.renderTitle(),
+                row.renderContent(),
+                row.sentAt(),
+                row.isRead());
     }
 }
\ No newline at end of file
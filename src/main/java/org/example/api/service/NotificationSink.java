@@ -0,0 +1,360 @@
+package org.example.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.example.api.dto.NotificationResponse;
+import org.example.api.model.NotificationTemplate;
+import org.example.api.model.Role;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class NotificationSink implements SmartLifecycle {
+
+    private static final String NEXT_IDS_SQL =
+            "SELECT nextval(pg_get_serial_sequence('notifications', 'id')) FROM generate_series(1, ?)";
+    private static final String INSERT_SQL =
+            "INSERT INTO notifications (id, user_id, template, params, sent_at, is_read) VALUES (?, ?, ?, ?, ?, false)";
+
+    private static final String FAN_OUT_SQL = """
+            INSERT INTO notifications (user_id, template, params, sent_at, is_read)
+            SELECT id, CAST(? AS smallint), CAST(? AS text[]), ?, false FROM users
+            WHERE role = ? AND is_active
+            RETURNING id, user_id
+            """;
+
+    public record PendingNotification(Long userId, NotificationTemplate template, List<String> params, LocalDateTime sentAt) {}
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final UnreadNotificationCounter unreadCounter;
+    private final NotificationStreamRelay streams;
+    private final BlockingQueue<PendingNotification> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final Path spoolFile;
+    private final Path deadLetterFile;
+
+    private final Timer flushTimer;
+    private final Timer fanOutTimer;
+    private final Counter spooledCounter;
+    private final Counter droppedCounter;
+    private final Counter deadLetteredCounter;
+    private final Counter streamFailedCounter;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public NotificationSink(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            ObjectMapper objectMapper,
+                            UnreadNotificationCounter unreadCounter,
+                            NotificationStreamRelay streams,
+                            MeterRegistry meterRegistry,
+                            @Value("${notifications.sink.capacity:10000}") int capacity,
+                            @Value("${notifications.sink.batch-size:200}") int batchSize,
+                            @Value("${notifications.sink.flush-interval-ms:250}") long flushIntervalMillis,
+                            @Value("${notifications.sink.spool-file:${user.home}/.inzynierka/notification-spool.jsonl}") Path spoolFile,
+                            @Value("${notifications.sink.dead-letter-file:${user.home}/.inzynierka/notification-dead-letter.jsonl}") Path deadLetterFile) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.unreadCounter = unreadCounter;
+        this.streams = streams;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.spoolFile = spoolFile.toAbsolutePath();
+        this.deadLetterFile = deadLetterFile.toAbsolutePath();
+
+        Gauge.builder("notifications.sink.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+        this.flushTimer = Timer.builder("notifications.sink.flush").register(meterRegistry);
+        this.fanOutTimer = Timer.builder("notifications.fan-out").register(meterRegistry);
+        this.spooledCounter = Counter.builder("notifications.sink.spooled").register(meterRegistry);
+        this.droppedCounter = Counter.builder("notifications.sink.dropped").register(meterRegistry);
+        this.deadLetteredCounter = Counter.builder("notifications.sink.dead-lettered").register(meterRegistry);
+        this.streamFailedCounter = Counter.builder("notifications.stream.failed").register(meterRegistry);
+    }
+
+    public void submit(List<NotificationMessage> messages) {
+        LocalDateTime now = LocalDateTime.now();
+        List<PendingNotification> overflow = new ArrayList<>();
+
+        for (NotificationMessage m : messages) {
+            PendingNotification pending = new PendingNotification(m.userId(), m.template(), m.params(), now);
+            if (!running || !queue.offer(pending)) {
+                overflow.add(pending);
+            }
+        }
+
+        if (!overflow.isEmpty()) {
+            write(overflow);
+        }
+    }
+
+    public int fanOut(Role role, NotificationTemplate template, List<String> params) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, List<NotificationResponse>> byUser = new HashMap<>();
+
+        fanOutTimer.record(() -> jdbcTemplate.query(FAN_OUT_SQL, rs -> {
+            byUser.computeIfAbsent(rs.getLong("user_id"), userId -> new ArrayList<>())
+                    .add(response(rs.getLong("id"), template, params, now));
+        }, template.getCode(), params.toArray(String[]::new), now, role.name()));
+
+        stored(byUser);
+        return byUser.size();
+    }
+
+    @Override
+    public void start() {
+        try {
+            Files.createDirectories(spoolFile.getParent());
+            Files.createDirectories(deadLetterFile.getParent());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nie udało się utworzyć katalogu plików zapasowych powiadomień.", e);
+        }
+        replaySpool();
+        running = true;
+        flusher = Thread.ofPlatform().name("notification-sink").daemon().start(this::flushLoop);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (flusher != null) {
+            flusher.interrupt();
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        drainRemaining();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void flushLoop() {
+        List<PendingNotification> batch = new ArrayList<>(batchSize);
+
+        while (running) {
+            try {
+                PendingNotification first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    PendingNotification next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                if (!batch.isEmpty()) {
+                    writeFromFlusher(batch);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+        }
+    }
+
+    private void writeFromFlusher(List<PendingNotification> batch) {
+        try {
+            write(batch);
+        } catch (UncheckedIOException e) {
+            droppedCounter.increment(batch.size());
+        }
+    }
+
+    private void drainRemaining() {
+        List<PendingNotification> remaining = new ArrayList<>();
+        while (queue.drainTo(remaining, batchSize) > 0) {
+            writeFromFlusher(remaining);
+            remaining = new ArrayList<>();
+        }
+    }
+
+    private synchronized void write(List<PendingNotification> batch) {
+        if (persist(batch) && Files.exists(spoolFile)) {
+            replaySpool();
+        }
+    }
+
+    private boolean persist(List<PendingNotification> batch) {
+        try {
+            stored(flushTimer.record(() -> insert(batch)));
+            return true;
+        } catch (DataAccessException e) {
+            if (isTransient(e)) {
+                spool(batch);
+                return false;
+            }
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                stored(insert(batch.subList(i, i + 1)));
+            } catch (DataAccessException e) {
+                if (isTransient(e)) {
+                    spool(batch.subList(i, batch.size()));
+                    return false;
+                }
+                deadLetter(batch.get(i));
+            }
+        }
+        return true;
+    }
+
+    private static boolean isTransient(DataAccessException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException;
+    }
+
+    private Map<Long, List<NotificationResponse>> insert(List<PendingNotification> batch) {
+        List<Long> ids = jdbcTemplate.queryForList(NEXT_IDS_SQL, Long.class, batch.size());
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        Map<Long, List<NotificationResponse>> byUser = new HashMap<>();
+
+        for (int i = 0; i < batch.size(); i++) {
+            PendingNotification n = batch.get(i);
+            rows.add(new Object[]{ids.get(i), n.userId(), n.template().getCode(), n.params().toArray(String[]::new), n.sentAt()});
+            byUser.computeIfAbsent(n.userId(), userId -> new ArrayList<>())
+                    .add(response(ids.get(i), n.template(), n.params(), n.sentAt()));
+        }
+
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+        return byUser;
+    }
+
+    private static NotificationResponse response(Long id, NotificationTemplate template, List<String> params,
+                                                 LocalDateTime sentAt) {
+        return new NotificationResponse(id, template.renderTitle(params), template.renderContent(params), sentAt, false);
+    }
+
+    private void stored(Map<Long, List<NotificationResponse>> stored) {
+        Map<Long, Integer> added = new HashMap<>();
+        stored.forEach((userId, notifications) -> added.put(userId, notifications.size()));
+        unreadCounter.increment(added);
+
+        try {
+            streams.publish(stored);
+        } catch (DataAccessException e) {
+            streamFailedCounter.increment();
+        }
+    }
+
+    private void spool(List<PendingNotification> batch) {
+        StringBuilder lines = new StringBuilder();
+        try {
+            for (PendingNotification n : batch) {
+                lines.append(objectMapper.writeValueAsString(n)).append('\n');
+            }
+            Files.writeString(spoolFile, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            spooledCounter.increment(batch.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nie udało się zapisać powiadomień do pliku zapasowego.", e);
+        }
+    }
+
+    private void deadLetter(PendingNotification notification) {
+        deadLetteredCounter.increment();
+        try {
+            Files.writeString(deadLetterFile, objectMapper.writeValueAsString(notification) + '\n', StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            droppedCounter.increment();
+        }
+    }
+
+    private synchronized void replaySpool() {
+        Path replaying = spoolFile.resolveSibling(spoolFile.getFileName() + ".replaying");
+        List<PendingNotification> pending = new ArrayList<>();
+
+        try {
+            if (!Files.exists(replaying)) {
+                if (!Files.exists(spoolFile)) {
+                    return;
+                }
+                Files.move(spoolFile, replaying, StandardCopyOption.ATOMIC_MOVE);
+            }
+
+            for (String line : Files.readAllLines(replaying, StandardCharsets.UTF_8)) {
+                readLine(line, pending);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nie udało się odczytać pliku zapasowego powiadomień.", e);
+        }
+
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, pending.size());
+            if (!persist(pending.subList(from, to))) {
+                spool(pending.subList(to, pending.size()));
+                break;
+            }
+        }
+
+        try {
+            Files.delete(replaying);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Nie udało się usunąć pliku zapasowego powiadomień.", e);
+        }
+    }
+
+    private void readLine(String line, List<PendingNotification> pending) {
+        if (line.isBlank()) {
+            return;
+        }
+        try {
+            pending.add(objectMapper.readValue(line, PendingNotification.class));
+        } catch (JsonProcessingException e) {
+            droppedCounter.increment();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.api.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.api.dto.NotificationResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+@Component
+public class NotificationStreamRegistry {
+
+    public static final String NOTIFICATION_EVENT = "notification";
+    public static final String UNREAD_COUNT_EVENT = "unread-count";
+
+    private static final long RECONNECT_DELAY_MILLIS = 5_000;
+
+    private final UnreadNotificationCounter unreadCounter;
+    private final long timeoutMillis;
+    private final Map<Long, Set<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public NotificationStreamRegistry(UnreadNotificationCounter unreadCounter,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${notifications.stream.timeout:PT30M}") Duration timeout) {
+        this.unreadCounter = unreadCounter;
+        this.timeoutMillis = timeout.toMillis();
+
+        Gauge.builder("notifications.stream.connections", emitters,
+                        map -> map.values().stream().mapToInt(Set::size).sum())
+                .register(meterRegistry);
+    }
+
+    public SseEmitter open(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        emitter.onCompletion(() -> remove(userId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> remove(userId, emitter));
+
+        emitters.compute(userId, (id, current) -> {
+            Set<SseEmitter> set = current != null ? current : new CopyOnWriteArraySet<>();
+            set.add(emitter);
+            return set;
+        });
+
+        send(userId, emitter, SseEmitter.event()
+                .name(UNREAD_COUNT_EVENT)
+                .reconnectTime(RECONNECT_DELAY_MILLIS)
+                .data(unreadCounter.get(userId)));
+        return emitter;
+    }
+
+    public boolean isConnected(Long userId) {
+        return emitters.containsKey(userId);
+    }
+
+    public void publish(Map<Long, List<NotificationResponse>> notificationsByUser) {
+        List<Long> connected = notificationsByUser.keySet().stream()
+                .filter(this::isConnected)
+                .toList();
+        if (connected.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Long> unread = unreadCounter.getAll(connected);
+        for (Long userId : connected) {
+            for (NotificationResponse notification : notificationsByUser.get(userId)) {
+                broadcast(userId, SseEmitter.event().name(NOTIFICATION_EVENT).data(notification));
+            }
+            broadcast(userId, SseEmitter.event().name(UNREAD_COUNT_EVENT).data(unread.getOrDefault(userId, 0L)));
+        }
+    }
+
+    public void unreadCountChanged(Long userId) {
+        if (isConnected(userId)) {
+            long unread = unreadCounter.get(userId);
+            broadcast(userId, SseEmitter.event().name(UNREAD_COUNT_EVENT).data(unread));
+        }
+    }
+
+    @Scheduled(fixedRateString = "${notifications.stream.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        emitters.keySet().forEach(userId -> broadcast(userId, SseEmitter.event().comment("heartbeat")));
+    }
+
+    private void broadcast(Long userId, SseEmitter.SseEventBuilder event) {
+        Set<DataWithMediaType> frame = event.build();
+        emitters.getOrDefault(userId, Set.of()).forEach(emitter -> send(userId, emitter, frame));
+    }
+
+    private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        send(userId, emitter, event.build());
+    }
+
+    private void send(Long userId, SseEmitter emitter, Set<DataWithMediaType> frame) {
+        try {
+            emitter.send(frame);
+        } catch (IOException | IllegalStateException e) {
+            remove(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void remove(Long userId, SseEmitter emitter) {
+        emitters.computeIfPresent(userId, (id, set) -> {
+            set.remove(emitter);
+            return set.isEmpty() ? null : set;
+        });
+    }
+}
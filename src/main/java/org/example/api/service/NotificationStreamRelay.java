@@ -0,0 +1,235 @@
+package org.example.api.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.api.dto.NotificationResponse;
+import org.example.api.repository.NotificationFeedRow;
+import org.example.api.repository.NotificationRepository;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class NotificationStreamRelay implements SmartLifecycle {
+
+    public static final String CHANNEL = "notification_stream";
+
+    private static final String NOTIFY_SQL = "SELECT pg_notify(?, ?)";
+    private static final int MAX_PAYLOAD_BYTES = 7000;
+    private static final int USER_ENTRY_BYTES = 24;
+    private static final int ID_BYTES = 21;
+
+    public record RelayMessage(String origin, Map<Long, List<Long>> notifications, List<Long> unreadChanged) {}
+
+    private final DataSource dataSource;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final NotificationRepository notificationRepository;
+    private final NotificationStreamRegistry streams;
+    private final UnreadNotificationCounter unreadCounter;
+    private final boolean enabled;
+    private final int pollMillis;
+    private final long reconnectDelayMillis;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Counter sentCounter;
+    private final Counter receivedCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread listener;
+
+    public NotificationStreamRelay(DataSource dataSource,
+                                   JdbcTemplate jdbcTemplate,
+                                   ObjectMapper objectMapper,
+                                   NotificationRepository notificationRepository,
+                                   NotificationStreamRegistry streams,
+                                   UnreadNotificationCounter unreadCounter,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${notifications.stream.relay.enabled:true}") boolean enabled,
+                                   @Value("${notifications.stream.relay.poll-interval:PT1S}") Duration pollInterval,
+                                   @Value("${notifications.stream.relay.reconnect-delay:PT5S}") Duration reconnectDelay) {
+        this.dataSource = dataSource;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.notificationRepository = notificationRepository;
+        this.streams = streams;
+        this.unreadCounter = unreadCounter;
+        this.enabled = enabled;
+        this.pollMillis = (int) pollInterval.toMillis();
+        this.reconnectDelayMillis = reconnectDelay.toMillis();
+
+        this.sentCounter = Counter.builder("notifications.stream.relay.messages").tag("direction", "sent").register(meterRegistry);
+        this.receivedCounter = Counter.builder("notifications.stream.relay.messages").tag("direction", "received").register(meterRegistry);
+        this.failedCounter = Counter.builder("notifications.stream.relay.failed").register(meterRegistry);
+    }
+
+    public void publish(Map<Long, List<NotificationResponse>> notificationsByUser) {
+        streams.publish(notificationsByUser);
+        if (!enabled) {
+            return;
+        }
+
+        Map<Long, List<Long>> chunk = new HashMap<>();
+        int size = 0;
+        for (Map.Entry<Long, List<NotificationResponse>> entry : notificationsByUser.entrySet()) {
+            for (NotificationResponse notification : entry.getValue()) {
+                int added = ID_BYTES + (chunk.containsKey(entry.getKey()) ? 0 : USER_ENTRY_BYTES);
+                if (size + added > MAX_PAYLOAD_BYTES) {
+                    send(new RelayMessage(nodeId, chunk, List.of()));
+                    chunk = new HashMap<>();
+                    size = 0;
+                    added = ID_BYTES + USER_ENTRY_BYTES;
+                }
+                chunk.computeIfAbsent(entry.getKey(), userId -> new ArrayList<>()).add(notification.id());
+                size += added;
+            }
+        }
+
+        if (!chunk.isEmpty()) {
+            send(new RelayMessage(nodeId, chunk, List.of()));
+        }
+    }
+
+    public void unreadCountChanged(Long userId) {
+        streams.unreadCountChanged(userId);
+        if (enabled) {
+            send(new RelayMessage(nodeId, Map.of(), List.of(userId)));
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        listener = Thread.ofPlatform().name("notification-relay").daemon().start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+            try {
+                listener.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void receive(String payload) {
+        RelayMessage message;
+        try {
+            message = objectMapper.readValue(payload, RelayMessage.class);
+        } catch (JsonProcessingException e) {
+            failedCounter.increment();
+            return;
+        }
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        receivedCounter.increment();
+
+        for (Long userId : message.unreadChanged()) {
+            unreadCounter.evict(userId);
+            streams.unreadCountChanged(userId);
+        }
+
+        Map<Long, Long> owners = new HashMap<>();
+        message.notifications().forEach((userId, ids) -> {
+            unreadCounter.evict(userId);
+            if (streams.isConnected(userId)) {
+                ids.forEach(id -> owners.put(id, userId));
+            }
+        });
+        if (owners.isEmpty()) {
+            return;
+        }
+
+        Map<Long, List<NotificationResponse>> byUser = new HashMap<>();
+        for (NotificationFeedRow row : notificationRepository.findFeedRowsByIds(owners.keySet())) {
+            byUser.computeIfAbsent(owners.get(row.id()), userId -> new ArrayList<>()).add(new NotificationResponse(row.id(),
+                    row.renderTitle(),
+                    row.renderContent(),
+                    row.sentAt(),
+                    row.isRead()));
+        }
+        streams.publish(byUser);
+    }
+
+    private void send(RelayMessage message) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        try {
+            jdbcTemplate.query(NOTIFY_SQL, rs -> null, CHANNEL, payload);
+            sentCounter.increment();
+        } catch (DataAccessException e) {
+            failedCounter.increment();
+        }
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection();
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        try {
+                            receive(notification.getParameter());
+                        } catch (DataAccessException e) {
+                            failedCounter.increment();
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                failedCounter.increment();
+                if (running) {
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(reconnectDelayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
\ No newline at end of file
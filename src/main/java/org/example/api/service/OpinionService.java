@@ -28,7 +28,12 @@ public class OpinionService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UserNotFoundException("Nie znaleziono użytkownika"));
 
-        Client client = clientRepository.findByUserId(user.getId())
+        createOpinion(opinionRequest, user.getId());
+    }
+
+    public void createOpinion(OpinionRequest opinionRequest, Long clientId){
+
+        Client client = clientRepository.findById(clientId)
                 .orElseThrow(() -> new UserNotFoundException("Użytkownik nie jest klientem"));
 
         Opinion opinion = Opinion.builder()
@@ -3,23 +3,28 @@ package org.example.api.service;
 import io.hypersistence.utils.hibernate.type.range.Range;
 import lombok.RequiredArgsConstructor;
 import org.example.api.dto.*;
+import org.example.api.event.ReservationCancelledByClientEvent;
+import org.example.api.event.ReservationCreatedEvent;
+import org.example.api.event.ReservationStatusChangedEvent;
+import org.example.api.event.WaiterAssignedEvent;
 import org.example.api.exception.IncorrectReservationDateException;
 import org.example.api.exception.ResourceAlreadyExistsException;
 import org.example.api.exception.ResourceNotFoundException;
 import org.example.api.exception.UserNotFoundException;
 import org.example.api.model.*;
 import org.example.api.repository.*;
-import org.springframework.data.domain.Sort;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.SQLException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.List;
-import java.util.Objects;
-import java.util.Random;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
@@ -32,13 +37,23 @@ public class ReservationService {
     private final WorkShiftRepository workShiftRepository;
     private final DishRepository dishRepository;
     private final WaiterRepository waiterRepository;
-    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TableOccupancyIndex occupancyIndex;
+    private final WaiterAssignmentEngine waiterAssignmentEngine;
 
-    private static final Random random = new Random();
+    private static final String EXCLUSION_VIOLATION = "23P01";
+    private static final int MAX_PAGE_SIZE = 100;
     private static final LocalTime LAST_ALLOWED_START_TIME = LocalTime.of(19, 0);
     private static final LocalTime CLOSING_TIME = LocalTime.of(22, 0);
+    private static final int LAST_START_SLOT =
+            (LAST_ALLOWED_START_TIME.toSecondOfDay() - TableOccupancyIndex.OPENING_TIME.toSecondOfDay())
+                    / 60 / TableOccupancyIndex.SLOT_MINUTES;
 
     public List<Long> getOccupiedTableIds(LocalDateTime start, LocalDateTime end) {
+        if (occupancyIndex.covers(start, end)) {
+            return Arrays.stream(occupancyIndex.getOccupiedTableIds(start, end)).boxed().toList();
+        }
+
         return reservationRepository.findOverlappingReservations(start, end)
                 .stream()
                 .map(res -> res.getRestaurantTable().getId())
@@ -46,8 +61,56 @@ public class ReservationService {
                 .toList();
     }
 
+    public AvailabilityGridResponse getAvailabilityGrid(LocalDate date) {
+        List<RestaurantTable> tables = tableRepository.findAllByIsActiveTrueAndTableTypeOrderByIdAsc(TableType.TABLE);
+
+        Map<Long, Integer> rowByTableId = new HashMap<>();
+        List<Long> tableIds = new ArrayList<>(tables.size());
+        for (RestaurantTable table : tables) {
+            rowByTableId.put(table.getId(), tableIds.size());
+            tableIds.add(table.getId());
+        }
+
+        long[] masks = new long[tables.size()];
+        List<ReservationPeriodView> periods = reservationRepository.findActivePeriodsOverlapping(
+                date.atTime(TableOccupancyIndex.OPENING_TIME), date.atTime(TableOccupancyIndex.CLOSING_TIME));
+
+        for (ReservationPeriodView period : periods) {
+            Integer row = rowByTableId.get(period.getTableId());
+            if (row != null) {
+                masks[row] |= TableOccupancyIndex.daySlotMask(date, period.getStartsAt(), period.getEndsAt());
+            }
+        }
+
+        int bytesPerRow = (TableOccupancyIndex.SLOTS_PER_DAY + 7) / 8;
+        byte[] packed = new byte[masks.length * bytesPerRow];
+        for (int row = 0; row < masks.length; row++) {
+            for (int b = 0; b < bytesPerRow; b++) {
+                packed[row * bytesPerRow + b] = (byte) (masks[row] >>> (8 * b));
+            }
+        }
+
+        return new AvailabilityGridResponse(
+                date,
+                TableOccupancyIndex.OPENING_TIME,
+                TableOccupancyIndex.SLOT_MINUTES,
+                TableOccupancyIndex.SLOTS_PER_DAY,
+                LAST_START_SLOT,
+                tableIds,
+                Base64.getEncoder().encodeToString(packed)
+        );
+    }
+
     @Transactional
     public void createReservation(String userEmail, ReservationRequest request) {
+        User user = userRepository.findByEmail(userEmail)
+                .orElseThrow(() -> new UserNotFoundException("Użytkownik nie istnieje."));
+
+        createReservation(user.getId(), request);
+    }
+
+    @Transactional
+    public void createReservation(Long clientId, ReservationRequest request) {
         if (request.start().isAfter(request.end())) {
             throw new IllegalArgumentException("Data rozpoczęcia musi być przed datą zakończenia.");
         }
@@ -65,22 +128,16 @@ public class ReservationService {
             );
         }
 
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new UserNotFoundException("Użytkownik nie istnieje."));
-
-        Client client = clientRepository.findById(user.getId())
+        Client client = clientRepository.findWithUserById(clientId)
                 .orElseThrow(() -> new ResourceNotFoundException("Nie znaleziono profilu klienta."));
+        User user = client.getUser();
 
         RestaurantTable table = tableRepository.findById(request.tableId())
                 .orElseThrow(() -> new ResourceNotFoundException("Stolik nie istnieje."));
 
-        List<Long> occupiedIds = getOccupiedTableIds(request.start(), request.end());
-
-        if (occupiedIds.contains(table.getId())) {
-            throw new ResourceAlreadyExistsException("Ten stolik jest już zajęty w wybranym terminie.");
-        }
-
-        Waiter assignedWaiter = findAvailableWaiter(request.start(), request.end());
+        Waiter assignedWaiter = waiterAssignmentEngine
+                .pickWaiter(request.start(), request.end(), request.englishSpeakingWaiter())
+                .orElse(null);
 
         Reservation reservation = Reservation.builder()
                 .client(client)
@@ -90,59 +147,59 @@ public class ReservationService {
                 .waiter(assignedWaiter)
                 .build();
 
-        Reservation savedReservation = reservationRepository.save(reservation);
-
         if (request.dishes() != null && !request.dishes().isEmpty()) {
-            for (ReservationDishRequest dishRequest : request.dishes()) {
-                Dish dish = dishRepository.findById(dishRequest.dishId()).
-                        orElseThrow(() -> new ResourceNotFoundException("Danie o podanym id nie istnieje."));
+            Map<Long, Dish> dishes = resolveDishes(request.dishes());
 
-                ReservationDish reservationDish = ReservationDish.builder()
-                        .reservation(savedReservation)
-                        .dish(dish)
+            for (ReservationDishRequest dishRequest : request.dishes()) {
+                reservation.getReservationDishes().add(ReservationDish.builder()
+                        .reservation(reservation)
+                        .dish(dishes.get(dishRequest.dishId()))
                         .quantity(dishRequest.quantity())
                         .isServed(false)
-                        .build();
-
-                savedReservation.getReservationDishes().add(reservationDish);
+                        .build());
             }
-            reservationRepository.save(savedReservation);
         }
 
-        notificationService.notifyUser(user,
-                "Rezerwacja przyjęta",
-                "Twoja rezerwacja na " + request.start().toLocalDate() + " godz " +request.start().toLocalTime() + " została przyjęta i oczekuje na potwierdzenie.");
-
-        notificationService.notifyAdmins(
-                "Nowa rezerwacja",
-                "Klient " + user.getFirstName() + " " + user.getLastName() + " złożył nową rezerwację.");
+        Reservation savedReservation = saveAndCheckOverlap(reservation);
 
-        if (assignedWaiter != null) {
-            LocalDateTime date = savedReservation.getReservationPeriod().lower();
+        occupancyIndex.record(savedReservation);
 
-            notificationService.notifyUser(assignedWaiter.getUser(),
-                    "Nowa rezerwacja do obsługi",
-                    "Zostałeś przypisany do rezerwacji: " + date.toLocalDate() +" " + date.toLocalTime());
+        eventPublisher.publishEvent(new ReservationCreatedEvent(
+                savedReservation.getId(),
+                user.getId(),
+                user.getFirstName() + " " + user.getLastName(),
+                request.start(),
+                assignedWaiter != null ? assignedWaiter.getId() : null
+        ));
+    }
 
-            notificationService.notifyUser(user,
-                    "Przypisano kelnera",
-                    "Do Twojej rezerwacji został przypisany kelner: " + assignedWaiter.getUser().getFirstName());
+    private Reservation saveAndCheckOverlap(Reservation reservation) {
+        try {
+            return reservationRepository.saveAndFlush(reservation);
+        } catch (DataIntegrityViolationException e) {
+            if (NestedExceptionUtils.getMostSpecificCause(e) instanceof SQLException sqlException
+                    && EXCLUSION_VIOLATION.equals(sqlException.getSQLState())) {
+                throw new ResourceAlreadyExistsException("Ten stolik jest już zajęty w wybranym terminie.");
+            }
+            throw e;
         }
-
     }
 
-    private Waiter findAvailableWaiter(LocalDateTime start, LocalDateTime end) {
-        List<WorkShift> availableShifts = workShiftRepository.findShiftsCoveringPeriod(start, end);
 
-        if (availableShifts.isEmpty()) {
-            return null;
+    private Map<Long, Dish> resolveDishes(List<ReservationDishRequest> requests) {
+        Set<Long> ids = new HashSet<>();
+        requests.forEach(r -> ids.add(r.dishId()));
+
+        Map<Long, Dish> dishes = new HashMap<>();
+        dishRepository.findAllByIdInAndIsActiveTrue(ids).forEach(d -> dishes.put(d.getId(), d));
+
+        if (dishes.size() != ids.size()) {
+            throw new ResourceNotFoundException("Danie o podanym id nie istnieje lub jest niedostępne.");
         }
 
-        WorkShift randomShift = availableShifts.get(random.nextInt(availableShifts.size()));
-        return randomShift.getWaiter();
+        return dishes;
     }
 
-
     @Transactional
     public void updateStatus(Long reservationId, ReservationStatus newStatus) {
         Reservation reservation = reservationRepository.findById(reservationId).orElseThrow(
@@ -155,64 +212,21 @@ public class ReservationService {
         }
 
         reservation.setStatus(newStatus);
-        reservationRepository.save(reservation);
-
-        User clientUser = reservation.getClient().getUser();
-        User waiterUser = (reservation.getWaiter() != null) ? reservation.getWaiter().getUser() : null;
-
-        if (newStatus == ReservationStatus.CONFIRMED && oldStatus == ReservationStatus.PENDING) {
-            notificationService.notifyUser(clientUser,
-                    "Rezerwacja potwierdzona!",
-                    "Twój stolik czeka. Zapraszamy " + reservation.getReservationPeriod().lower().toLocalDate() + " o godzinie "
-                        + reservation.getReservationPeriod().lower().toLocalTime() +".");
-        }
-
-        if (newStatus == ReservationStatus.CANCELLED) {
-            notificationService.notifyUser(clientUser,
-                    "Rezerwacja anulowana",
-                    "Twoja rezerwacja została anulowana przez obsługę.");
-
-            if (waiterUser != null) {
-                notificationService.notifyUser(waiterUser,
-                        "Anulowano rezerwację",
-                        "Rezerwacja, którą miałeś obsłużyć, została anulowana.");
-            }
-        }
-
-
-    }
-
-    public List<ReservationResponse> findAll() {
-        return reservationRepository.findAll(Sort.by(Sort.Direction.DESC, "id"))
-                .stream()
-                .map(this::mapToResponse)
-                .toList();
+        saveAndCheckOverlap(reservation);
+        occupancyIndex.record(reservation);
+
+        eventPublisher.publishEvent(new ReservationStatusChangedEvent(
+                reservation.getId(),
+                reservation.getClient().getId(),
+                reservation.getWaiter() != null ? reservation.getWaiter().getId() : null,
+                oldStatus,
+                newStatus,
+                reservation.getReservationPeriod().lower()
+        ));
     }
 
-    @Transactional
-    @Scheduled(cron = "0 */5 * * * *")
-    public void autoCompleteReservations() {
-        LocalDateTime threshold = LocalDateTime.now().minusMinutes(10);
-
-        List<Reservation> expired = reservationRepository.findExpiredReservations(threshold);
-
-        for (Reservation reservation : expired) {
-            reservation.setStatus(ReservationStatus.COMPLETED);
-        }
-
-        if (!expired.isEmpty()) {
-            reservationRepository.saveAll(expired);
-        }
-    }
-
-    @Transactional
-    @Scheduled(cron = "0 */5 * * * *")
-    public void autoCancelNotConfirmedReservations(){
-        List<Reservation> reservations = reservationRepository.findNotConfirmedReservations(LocalDateTime.now());
-
-        reservations.forEach(reservation -> reservation.setStatus(ReservationStatus.CANCELLED));
-
-        reservationRepository.saveAll(reservations);
+    public CursorPageResponse<ReservationResponse> findAll(ReservationFilter filter, String cursor, int size) {
+        return findPage(filter, cursor, size);
     }
 
     public List<WaiterResponse> getAvailableWaitersForReservation(Long reservationId) {
@@ -247,21 +261,14 @@ public class ReservationService {
         reservation.setWaiter(newWaiter);
         reservationRepository.save(reservation);
 
-        notificationService.notifyUser(newWaiter.getUser(),
-                "Nowa rezerwacja do obsługi",
-                "Zostałeś przypisany do nowej rezerwacji: " + reservation.getReservationPeriod().lower().toLocalDate() + " " + reservation.getReservationPeriod().lower().toLocalTime());
-
-
-        if (oldWaiter != null && !oldWaiter.getId().equals(newWaiter.getId())) {
-            notificationService.notifyUser(oldWaiter.getUser(),
-                    "Zmiana w grafiku",
-                    "Zostałeś odsunięty od obsługi rezerwacji stolika nr " +reservation.getRestaurantTable().getTableNumber());
-        }
-
-        User clientUser = reservation.getClient().getUser();
-        notificationService.notifyUser(clientUser,
-                "Przypisano kelnera",
-                "Do Twojej rezerwacji został przypisany kelner: " + newWaiter.getUser().getFirstName());
+        eventPublisher.publishEvent(new WaiterAssignedEvent(
+                reservation.getId(),
+                reservation.getClient().getId(),
+                newWaiter.getId(),
+                oldWaiter != null ? oldWaiter.getId() : null,
+                reservation.getReservationPeriod().lower(),
+                reservation.getRestaurantTable().getTableNumber()
+        ));
     }
 
     public List<ReservationResponse> findClientReservations(String email) {
@@ -272,7 +279,11 @@ public class ReservationService {
                 () -> new AccessDeniedException("Zalogowany użytkownik nie jest klientem.")
         );
 
-        return reservationRepository.findAllByClientId(client.getId())
+        return findClientReservations(client.getId());
+    }
+
+    public List<ReservationResponse> findClientReservations(Long clientId) {
+        return reservationRepository.findAllByClientId(clientId)
                 .stream()
                 .sorted((r1, r2) -> r2.getId().compareTo(r1.getId()))
                 .map(this::mapToResponse)
@@ -292,36 +303,49 @@ public class ReservationService {
         if (reservation.getStatus() == ReservationStatus.PENDING || reservation.getStatus() == ReservationStatus.CONFIRMED) {
             reservation.setStatus(ReservationStatus.CANCELLED);
             reservationRepository.save(reservation);
+            occupancyIndex.record(reservation);
 
-            notificationService.notifyAdmins(
-                    "Klient anulował rezerwację",
-                    "Rezerwacja nr " + id + " (" + reservation.getClient().getUser().getEmail() + ") została odwołana przez klienta."
-            );
-
-            if (reservation.getWaiter() != null) {
-                notificationService.notifyUser(reservation.getWaiter().getUser(),
-                        "Klient odwołał wizytę",
-                        "Rezerwacja, którą miałeś obsługiwać została anulowana przez klienta."
-                );
-            }
+            eventPublisher.publishEvent(new ReservationCancelledByClientEvent(
+                    id,
+                    userEmail,
+                    reservation.getWaiter() != null ? reservation.getWaiter().getId() : null
+            ));
         } else {
             throw new IllegalStateException("Nie można anulować rezerwacji o statusie: " + reservation.getStatus());
         }
 
     }
 
-    public List<ReservationResponse> findWaiterReservations(String email){
+    public CursorPageResponse<ReservationResponse> findWaiterReservations(String email, ReservationFilter filter,
+                                                                          String cursor, int size){
         User user = userRepository.findByEmail(email).orElseThrow(() -> new UserNotFoundException("Uzytkownik z podanym email nie istnieje."));
 
         Waiter waiter = waiterRepository.findById(user.getId()).orElseThrow(
                 () -> new AccessDeniedException("Zalogowany użytkownik nie jest kelnerem")
         );
 
-        return reservationRepository.findAllByWaiterId(waiter.getId())
-                .stream()
-                .sorted((r1, r2) -> r2.getReservationPeriod().lower().compareTo(r1.getReservationPeriod().lower()))
-                .map(this::mapToResponse)
-                .toList();
+        return findWaiterReservations(waiter.getId(), filter, cursor, size);
+    }
+
+    public CursorPageResponse<ReservationResponse> findWaiterReservations(Long waiterId, ReservationFilter filter,
+                                                                          String cursor, int size){
+        return findPage(filter.withWaiterId(waiterId), cursor, size);
+    }
+
+    private CursorPageResponse<ReservationResponse> findPage(ReservationFilter filter, String cursor, int size) {
+        int limit = Math.clamp(size, 1, MAX_PAGE_SIZE);
+        Keyset after = (cursor == null || cursor.isBlank()) ? null : Keyset.decode(cursor);
+
+        List<Reservation> reservations = reservationRepository.findPage(filter, after, limit + 1);
+        String nextCursor = null;
+
+        if (reservations.size() > limit) {
+            reservations = reservations.subList(0, limit);
+            Reservation last = reservations.getLast();
+            nextCursor = new Keyset(last.getReservationPeriod().lower(), last.getId()).encode();
+        }
+
+        return new CursorPageResponse<>(reservations.stream().map(this::mapToResponse).toList(), nextCursor);
     }
 
     @Transactional
@@ -0,0 +1,92 @@
+package org.example.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Setter;
+import org.example.api.repository.ReservationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+@Service
+public class ReservationStatusScheduler {
+
+    private static final String STATUS_JOBS_CRON = "0 */5 * * * *";
+    private static final String TRANSITIONS_METRIC = "reservations.status.transitions";
+    private static final String DURATION_METRIC = "reservations.status.job.duration";
+
+    private final ReservationRepository reservationRepository;
+    private final TableOccupancyIndex occupancyIndex;
+    private final ClusterJobCoordinator jobCoordinator;
+    private final int chunkSize;
+
+    private final Counter completedCounter;
+    private final Counter cancelledCounter;
+    private final Timer completeTimer;
+    private final Timer cancelTimer;
+
+    @Setter(onMethod_ = {@Autowired, @Lazy})
+    private ReservationStatusScheduler self;
+
+    public ReservationStatusScheduler(ReservationRepository reservationRepository,
+                                      TableOccupancyIndex occupancyIndex,
+                                      ClusterJobCoordinator jobCoordinator,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${reservations.status-jobs.chunk-size:500}") int chunkSize) {
+        this.reservationRepository = reservationRepository;
+        this.occupancyIndex = occupancyIndex;
+        this.jobCoordinator = jobCoordinator;
+        this.chunkSize = chunkSize;
+
+        this.completedCounter = Counter.builder(TRANSITIONS_METRIC).tag("status", "COMPLETED").register(meterRegistry);
+        this.cancelledCounter = Counter.builder(TRANSITIONS_METRIC).tag("status", "CANCELLED").register(meterRegistry);
+        this.completeTimer = Timer.builder(DURATION_METRIC).tag("job", "auto-complete").register(meterRegistry);
+        this.cancelTimer = Timer.builder(DURATION_METRIC).tag("job", "auto-cancel").register(meterRegistry);
+    }
+
+    @Scheduled(cron = STATUS_JOBS_CRON)
+    public void autoCompleteReservations() {
+        jobCoordinator.runOncePerTick("reservations.auto-complete", STATUS_JOBS_CRON, () -> {
+            LocalDateTime threshold = LocalDateTime.now().minusMinutes(10);
+            completeTimer.record(() -> drain(() -> self.completeExpiredChunk(threshold), completedCounter));
+        });
+    }
+
+    @Scheduled(cron = STATUS_JOBS_CRON)
+    public void autoCancelNotConfirmedReservations() {
+        jobCoordinator.runOncePerTick("reservations.auto-cancel", STATUS_JOBS_CRON, () -> {
+            LocalDateTime threshold = LocalDateTime.now();
+            cancelTimer.record(() -> drain(() -> self.cancelNotConfirmedChunk(threshold), cancelledCounter));
+        });
+    }
+
+    @Transactional
+    public List<Long> completeExpiredChunk(LocalDateTime threshold) {
+        List<Long> ids = reservationRepository.completeExpiredReservations(threshold, chunkSize);
+        occupancyIndex.forget(ids);
+        return ids;
+    }
+
+    @Transactional
+    public List<Long> cancelNotConfirmedChunk(LocalDateTime threshold) {
+        List<Long> ids = reservationRepository.cancelNotConfirmedReservations(threshold, chunkSize);
+        occupancyIndex.forget(ids);
+        return ids;
+    }
+
+    private void drain(Supplier<List<Long>> chunk, Counter transitioned) {
+        List<Long> ids;
+        do {
+            ids = chunk.get();
+            transitioned.increment(ids.size());
+        } while (ids.size() >= chunkSize);
+    }
+}
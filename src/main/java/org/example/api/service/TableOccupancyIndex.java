@@ -0,0 +1,293 @@
+package org.example.api.service;
+
+import org.example.api.model.Reservation;
+import org.example.api.model.ReservationStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class TableOccupancyIndex {
+
+    public static final LocalTime OPENING_TIME = LocalTime.of(10, 0);
+    public static final LocalTime CLOSING_TIME = LocalTime.of(22, 0);
+    public static final int SLOT_MINUTES = 15;
+    public static final int SLOTS_PER_DAY =
+            (CLOSING_TIME.toSecondOfDay() - OPENING_TIME.toSecondOfDay()) / 60 / SLOT_MINUTES;
+
+    private static final int OPENING_MINUTE = OPENING_TIME.toSecondOfDay() / 60;
+    private static final int CLOSING_MINUTE = CLOSING_TIME.toSecondOfDay() / 60;
+    private static final Set<ReservationStatus> ACTIVE_STATUSES =
+            EnumSet.of(ReservationStatus.PENDING, ReservationStatus.CONFIRMED);
+    private static final long[] NO_TABLES = new long[0];
+
+    private final Map<LocalDate, DayOccupancy> days = new ConcurrentHashMap<>();
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<LocalDate, Set<Long>> entryIdsByDay = new HashMap<>();
+    private final List<Runnable> changesDuringReload = new ArrayList<>();
+    private boolean reloading;
+
+    private volatile LocalDate horizon;
+
+    public boolean covers(LocalDateTime start, LocalDateTime end) {
+        LocalDate date = start.toLocalDate();
+        LocalDate loadedFrom = horizon;
+
+        if (loadedFrom == null || date.isBefore(loadedFrom) || !date.equals(end.toLocalDate())) {
+            return false;
+        }
+
+        int startMinute = minuteOfDay(start);
+        int endMinute = minuteOfDay(end);
+
+        if (startMinute >= endMinute || startMinute < OPENING_MINUTE || endMinute > CLOSING_MINUTE
+                || !isSlotBoundary(start) || !isSlotBoundary(end)) {
+            return false;
+        }
+
+        DayOccupancy day = days.get(date);
+        return day == null || day.exact;
+    }
+
+    public boolean isOccupied(Long tableId, LocalDateTime start, LocalDateTime end) {
+        DayOccupancy day = days.get(start.toLocalDate());
+        if (day == null) {
+            return false;
+        }
+
+        int index = Arrays.binarySearch(day.tableIds, tableId);
+        return index >= 0 && (day.masks[index] & queryMask(start, end)) != 0;
+    }
+
+    public long[] getOccupiedTableIds(LocalDateTime start, LocalDateTime end) {
+        DayOccupancy day = days.get(start.toLocalDate());
+        if (day == null) {
+            return NO_TABLES;
+        }
+
+        long mask = queryMask(start, end);
+        int count = 0;
+        for (long tableMask : day.masks) {
+            if ((tableMask & mask) != 0) {
+                count++;
+            }
+        }
+        if (count == 0) {
+            return NO_TABLES;
+        }
+
+        long[] occupied = new long[count];
+        int next = 0;
+        for (int i = 0; i < day.tableIds.length; i++) {
+            if ((day.masks[i] & mask) != 0) {
+                occupied[next++] = day.tableIds[i];
+            }
+        }
+
+        return occupied;
+    }
+
+    public void record(Reservation reservation) {
+        long id = reservation.getId();
+
+        if (ACTIVE_STATUSES.contains(reservation.getStatus())) {
+            long tableId = reservation.getRestaurantTable().getId();
+            LocalDateTime start = reservation.getReservationPeriod().lower();
+            LocalDateTime end = reservation.getReservationPeriod().upper();
+            afterCommit(() -> put(id, tableId, start, end));
+        } else {
+            afterCommit(() -> remove(id));
+        }
+    }
+
+    public void forget(Collection<Long> reservationIds) {
+        if (reservationIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = List.copyOf(reservationIds);
+        afterCommit(() -> ids.forEach(this::remove));
+    }
+
+    public synchronized void put(long reservationId, long tableId, LocalDateTime start, LocalDateTime end) {
+        if (reloading) {
+            changesDuringReload.add(() -> put(reservationId, tableId, start, end));
+        }
+
+        Entry previous = entries.put(reservationId, new Entry(reservationId, tableId, start, end));
+        Set<LocalDate> touched = new HashSet<>();
+
+        if (previous != null) {
+            unlink(previous, touched);
+        }
+        link(entries.get(reservationId), touched);
+
+        touched.forEach(this::rebuild);
+    }
+
+    public synchronized void remove(long reservationId) {
+        if (reloading) {
+            changesDuringReload.add(() -> remove(reservationId));
+        }
+
+        Entry previous = entries.remove(reservationId);
+        if (previous == null) {
+            return;
+        }
+
+        Set<LocalDate> touched = new HashSet<>();
+        unlink(previous, touched);
+        touched.forEach(this::rebuild);
+    }
+
+    public synchronized void beginReload() {
+        reloading = true;
+        changesDuringReload.clear();
+    }
+
+    public synchronized void completeReload(LocalDate from, Collection<Reservation> activeReservations) {
+        entries.clear();
+        entryIdsByDay.clear();
+        days.clear();
+        reloading = false;
+
+        for (Reservation reservation : activeReservations) {
+            Entry entry = new Entry(
+                    reservation.getId(),
+                    reservation.getRestaurantTable().getId(),
+                    reservation.getReservationPeriod().lower(),
+                    reservation.getReservationPeriod().upper()
+            );
+            entries.put(entry.reservationId(), entry);
+            link(entry, new HashSet<>());
+        }
+
+        entryIdsByDay.keySet().forEach(this::rebuild);
+
+        List<Runnable> pending = List.copyOf(changesDuringReload);
+        changesDuringReload.clear();
+        pending.forEach(Runnable::run);
+
+        horizon = from;
+    }
+
+    public synchronized void abortReload() {
+        reloading = false;
+        changesDuringReload.clear();
+    }
+
+    private void link(Entry entry, Set<LocalDate> touched) {
+        for (LocalDate day = entry.start().toLocalDate(); day.atStartOfDay().isBefore(entry.end()); day = day.plusDays(1)) {
+            entryIdsByDay.computeIfAbsent(day, d -> new HashSet<>()).add(entry.reservationId());
+            touched.add(day);
+        }
+    }
+
+    private void unlink(Entry entry, Set<LocalDate> touched) {
+        for (LocalDate day = entry.start().toLocalDate(); day.atStartOfDay().isBefore(entry.end()); day = day.plusDays(1)) {
+            Set<Long> ids = entryIdsByDay.get(day);
+            if (ids != null) {
+                ids.remove(entry.reservationId());
+                if (ids.isEmpty()) {
+                    entryIdsByDay.remove(day);
+                }
+            }
+            touched.add(day);
+        }
+    }
+
+    private void rebuild(LocalDate day) {
+        Set<Long> ids = entryIdsByDay.get(day);
+        if (ids == null || ids.isEmpty()) {
+            days.remove(day);
+            return;
+        }
+
+        LocalDateTime windowStart = day.atTime(OPENING_TIME);
+        LocalDateTime windowEnd = day.atTime(CLOSING_TIME);
+        TreeMap<Long, Long> masksByTable = new TreeMap<>();
+        boolean exact = true;
+
+        for (Long id : ids) {
+            Entry entry = entries.get(id);
+            long mask = daySlotMask(day, entry.start(), entry.end());
+
+            if (mask == 0L) {
+                continue;
+            }
+
+            exact &= (!entry.start().isAfter(windowStart) || isSlotBoundary(entry.start()))
+                    && (!entry.end().isBefore(windowEnd) || isSlotBoundary(entry.end()));
+
+            masksByTable.merge(entry.tableId(), mask, (a, b) -> a | b);
+        }
+
+        long[] tableIds = new long[masksByTable.size()];
+        long[] masks = new long[masksByTable.size()];
+        int i = 0;
+        for (Map.Entry<Long, Long> tableMask : masksByTable.entrySet()) {
+            tableIds[i] = tableMask.getKey();
+            masks[i] = tableMask.getValue();
+            i++;
+        }
+
+        days.put(day, new DayOccupancy(tableIds, masks, exact));
+    }
+
+    public static long daySlotMask(LocalDate day, LocalDateTime start, LocalDateTime end) {
+        LocalDateTime windowStart = day.atTime(OPENING_TIME);
+        LocalDateTime windowEnd = day.atTime(CLOSING_TIME);
+        LocalDateTime from = start.isAfter(windowStart) ? start : windowStart;
+        LocalDateTime to = end.isBefore(windowEnd) ? end : windowEnd;
+
+        if (!from.isBefore(to)) {
+            return 0L;
+        }
+
+        int toMinute = minuteOfDay(to) + (to.getSecond() > 0 || to.getNano() > 0 ? 1 : 0);
+        return slotMask(minuteOfDay(from), toMinute);
+    }
+
+    public static long queryMask(LocalDateTime start, LocalDateTime end) {
+        return slotMask(minuteOfDay(start), minuteOfDay(end));
+    }
+
+    public static long slotMask(int fromMinuteOfDay, int toMinuteOfDay) {
+        int firstSlot = (fromMinuteOfDay - OPENING_MINUTE) / SLOT_MINUTES;
+        int lastSlot = (toMinuteOfDay - OPENING_MINUTE + SLOT_MINUTES - 1) / SLOT_MINUTES;
+        return ((1L << lastSlot) - 1) & -(1L << firstSlot);
+    }
+
+    private static int minuteOfDay(LocalDateTime dateTime) {
+        return dateTime.getHour() * 60 + dateTime.getMinute();
+    }
+
+    private static boolean isSlotBoundary(LocalDateTime dateTime) {
+        return dateTime.getMinute() % SLOT_MINUTES == 0 && dateTime.getSecond() == 0 && dateTime.getNano() == 0;
+    }
+
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private record Entry(long reservationId, long tableId, LocalDateTime start, LocalDateTime end) {
+    }
+
+    private record DayOccupancy(long[] tableIds, long[] masks, boolean exact) {
+    }
+}
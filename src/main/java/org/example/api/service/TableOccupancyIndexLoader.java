@@ -0,0 +1,40 @@
+package org.example.api.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.api.model.Reservation;
+import org.example.api.repository.ReservationRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class TableOccupancyIndexLoader {
+
+    private final ReservationRepository reservationRepository;
+    private final TableOccupancyIndex occupancyIndex;
+
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(
+            fixedDelayString = "${reservations.occupancy-index.resync-interval:PT1M}",
+            initialDelayString = "${reservations.occupancy-index.resync-interval:PT1M}"
+    )
+    public void reload() {
+        LocalDate today = LocalDate.now();
+        occupancyIndex.beginReload();
+
+        try {
+            List<Reservation> active = reservationRepository.findActiveReservationsEndingAfter(today.atStartOfDay());
+            occupancyIndex.completeReload(today, active);
+        } catch (RuntimeException e) {
+            occupancyIndex.abortReload();
+            throw e;
+        }
+    }
+}
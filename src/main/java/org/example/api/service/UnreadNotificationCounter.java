@@ -0,0 +1,155 @@
+package org.example.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.api.repository.NotificationRepository;
+import org.example.api.repository.UnreadCountView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+
+@Component
+public class UnreadNotificationCounter {
+
+    private static final String REQUESTS_METRIC = "notifications.unread.cache.requests";
+
+    private final NotificationRepository notificationRepository;
+    private final long ttlNanos;
+    private final Map<Long, Entry> counts;
+    private final Map<Long, List<Load>> loads = new HashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public UnreadNotificationCounter(NotificationRepository notificationRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${notifications.unread-cache.max-size:10000}") int maxSize,
+                                     @Value("${notifications.unread-cache.ttl:PT30S}") Duration ttl) {
+        this.notificationRepository = notificationRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.counts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+
+        Gauge.builder("notifications.unread.cache.size", this, UnreadNotificationCounter::size).register(meterRegistry);
+        this.hitCounter = Counter.builder(REQUESTS_METRIC).tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder(REQUESTS_METRIC).tag("result", "miss").register(meterRegistry);
+    }
+
+    public long get(Long userId) {
+        return getAll(List.of(userId)).getOrDefault(userId, 0L);
+    }
+
+    public Map<Long, Long> getAll(Collection<Long> userIds) {
+        Map<Long, Long> result = new HashMap<>();
+        Map<Long, Load> pending = new HashMap<>();
+
+        synchronized (this) {
+            for (Long userId : userIds) {
+                Entry cached = counts.get(userId);
+                if (cached != null && System.nanoTime() - cached.loadedAt < ttlNanos) {
+                    result.put(userId, cached.count);
+                } else {
+                    Load load = new Load();
+                    loads.computeIfAbsent(userId, id -> new ArrayList<>()).add(load);
+                    pending.put(userId, load);
+                }
+            }
+        }
+
+        hitCounter.increment(result.size());
+        if (pending.isEmpty()) {
+            return result;
+        }
+        missCounter.increment(pending.size());
+
+        Map<Long, Long> loaded;
+        try {
+            loaded = loadCounts(pending.keySet());
+        } catch (RuntimeException e) {
+            finishLoads(pending, null);
+            throw e;
+        }
+        finishLoads(pending, loaded);
+
+        for (Long userId : pending.keySet()) {
+            result.put(userId, loaded.getOrDefault(userId, 0L));
+        }
+        return result;
+    }
+
+    public synchronized void increment(Map<Long, Integer> deltas) {
+        deltas.forEach(this::adjust);
+    }
+
+    public synchronized void decrement(Long userId, int delta) {
+        if (delta > 0) {
+            adjust(userId, -delta);
+        }
+    }
+
+    public synchronized void evict(Long userId) {
+        counts.remove(userId);
+        markLoadsStale(userId);
+    }
+
+    private Map<Long, Long> loadCounts(Collection<Long> userIds) {
+        Map<Long, Long> loaded = new HashMap<>();
+        for (UnreadCountView view : notificationRepository.countUnreadByUserIds(userIds)) {
+            loaded.put(view.getUserId(), view.getUnread());
+        }
+        return loaded;
+    }
+
+    private synchronized void finishLoads(Map<Long, Load> pending, Map<Long, Long> loaded) {
+        pending.forEach((userId, load) -> {
+            List<Load> inFlight = loads.get(userId);
+            inFlight.remove(load);
+            if (inFlight.isEmpty()) {
+                loads.remove(userId);
+            }
+            if (loaded != null && !load.stale) {
+                counts.put(userId, new Entry(loaded.getOrDefault(userId, 0L), System.nanoTime()));
+            }
+        });
+    }
+
+    private void adjust(Long userId, long delta) {
+        Entry cached = counts.get(userId);
+        if (cached != null) {
+            cached.count = Math.max(0, cached.count + delta);
+        }
+        markLoadsStale(userId);
+    }
+
+    private void markLoadsStale(Long userId) {
+        List<Load> inFlight = loads.get(userId);
+        if (inFlight != null) {
+            inFlight.forEach(load -> load.stale = true);
+        }
+    }
+
+    private synchronized int size() {
+        return counts.size();
+    }
+
+    private static final class Entry {
+        private long count;
+        private final long loadedAt;
+
+        private Entry(long count, long loadedAt) {
+            this.count = count;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private static final class Load {
+        private boolean stale;
+    }
+}
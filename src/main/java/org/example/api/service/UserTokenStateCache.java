@@ -0,0 +1,85 @@
+package org.example.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.api.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class UserTokenStateCache {
+
+    private static final String REQUESTS_METRIC = "auth.token-state.cache.requests";
+
+    private final UserRepository userRepository;
+    private final long ttlNanos;
+    private final Map<Long, TokenState> states;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    private long generation;
+
+    public UserTokenStateCache(UserRepository userRepository,
+                               MeterRegistry meterRegistry,
+                               @Value("${auth.token-state-cache.max-size:10000}") int maxSize,
+                               @Value("${auth.token-state-cache.ttl:PT1M}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.ttlNanos = ttl.toNanos();
+        this.states = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, TokenState> eldest) {
+                return size() > maxSize;
+            }
+        };
+
+        Gauge.builder("auth.token-state.cache.size", this, UserTokenStateCache::size).register(meterRegistry);
+        this.hitCounter = Counter.builder(REQUESTS_METRIC).tag("result", "hit").register(meterRegistry);
+        this.missCounter = Counter.builder(REQUESTS_METRIC).tag("result", "miss").register(meterRegistry);
+    }
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        TokenState state = lookup(userId);
+        return state != null && state.active() && state.tokenVersion() == tokenVersion;
+    }
+
+    public synchronized void evict(Long userId) {
+        states.remove(userId);
+        generation++;
+    }
+
+    private TokenState lookup(Long userId) {
+        long observed;
+        synchronized (this) {
+            TokenState cached = states.get(userId);
+            if (cached != null && System.nanoTime() - cached.loadedAt() < ttlNanos) {
+                hitCounter.increment();
+                return cached;
+            }
+            observed = generation;
+        }
+
+        missCounter.increment();
+        TokenState loaded = userRepository.findTokenStateById(userId)
+                .map(view -> new TokenState(view.getTokenVersion(), view.getActive(), System.nanoTime()))
+                .orElse(null);
+
+        synchronized (this) {
+            if (loaded != null && generation == observed) {
+                states.put(userId, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    private synchronized int size() {
+        return states.size();
+    }
+
+    private record TokenState(int tokenVersion, boolean active, long loadedAt) {}
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package org.example.api.service;
+
+import lombok.RequiredArgsConstructor;
+import org.example.api.model.Waiter;
+import org.example.api.repository.WaiterRepository;
+import org.example.api.repository.WorkShiftRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Component
+@RequiredArgsConstructor
+public class WaiterAssignmentEngine {
+
+    private final WorkShiftRepository workShiftRepository;
+    private final WaiterRepository waiterRepository;
+
+    public Optional<Waiter> pickWaiter(LocalDateTime start, LocalDateTime end, Boolean speaksEnglish) {
+        return workShiftRepository.findLeastLoadedWaiterId(
+                        start, end, speaksEnglish != null, Boolean.TRUE.equals(speaksEnglish))
+                .map(waiterRepository::getReferenceById);
+    }
+}
@@ -2,8 +2,10 @@ package org.example.api.service;
 
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import org.example.api.dto.WaiterRequest;
 import org.example.api.dto.WaiterResponse;
+import org.example.api.event.UserCredentialsChangedEvent;
 import org.example.api.exception.EmailAlreadyTakenException;
 import org.example.api.exception.ResourceInUseException;
 import org.example.api.exception.ResourceNotFoundException;
@@ -15,6 +17,9 @@ import org.example.api.repository.ReservationRepository;
 import org.example.api.repository.UserRepository;
 import org.example.api.repository.WaiterRepository;
 import org.example.api.repository.WorkShiftRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -31,21 +36,27 @@ public class WaiterService {
     private final PasswordEncoder passwordEncoder;
     private final WorkShiftRepository workShiftRepository;
     private final ReservationRepository reservationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Setter(onMethod_ = {@Autowired, @Lazy})
+    private WaiterService self;
 
     public List<WaiterResponse> findAll(){
         return waiterRepository.findAllActive().stream().map(this::mapToResponse).toList();
     }
 
-    @Transactional
     public WaiterResponse create(WaiterRequest waiterRequest){
+        ensureEmailAvailable(waiterRequest.email());
+        return self.create(waiterRequest, passwordEncoder.encode(waiterRequest.password()));
+    }
 
-        if (userRepository.existsByEmail(waiterRequest.email())){
-            throw new EmailAlreadyTakenException("Konto z takim adresem e-mail już istnieje.");
-        }
+    @Transactional
+    public WaiterResponse create(WaiterRequest waiterRequest, String passwordHash){
+        ensureEmailAvailable(waiterRequest.email());
 
         User user = User.builder()
                 .email(waiterRequest.email())
-                .passwordHash(passwordEncoder.encode(waiterRequest.password()))
+                .passwordHash(passwordHash)
                 .firstName(waiterRequest.firstName())
                 .lastName(waiterRequest.lastName())
                 .phoneNumber(waiterRequest.phoneNumber())
@@ -82,6 +93,13 @@ public class WaiterService {
         user.setActive(false);
 
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserCredentialsChangedEvent(user.getId()));
+    }
+
+    private void ensureEmailAvailable(String email) {
+        if (userRepository.existsByEmail(email)){
+            throw new EmailAlreadyTakenException("Konto z takim adresem e-mail już istnieje.");
+        }
     }
 
     private WaiterResponse mapToResponse(Waiter waiter) {
@@ -0,0 +1,30 @@
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+DO
+$$
+    DECLARE
+        conflicts TEXT;
+    BEGIN
+        LOCK TABLE reservations IN SHARE ROW EXCLUSIVE MODE;
+
+        SELECT string_agg(format('%s/%s', older.id, newer.id), ', ' ORDER BY older.id, newer.id)
+        INTO conflicts
+        FROM reservations older
+                 JOIN reservations newer
+                      ON newer.table_id = older.table_id
+                          AND newer.id > older.id
+                          AND newer.reservation_period && older.reservation_period
+        WHERE older.status IN ('PENDING', 'CONFIRMED')
+          AND newer.status IN ('PENDING', 'CONFIRMED');
+
+        IF conflicts IS NOT NULL THEN
+            RAISE EXCEPTION 'Overlapping active reservations (older/newer id) block ex_reservations_table_period: %', conflicts
+                USING HINT = 'Cancel or move one reservation of each pair and inform the client, then rerun the migration.';
+        END IF;
+    END
+$$;
+
+ALTER TABLE reservations
+    ADD CONSTRAINT ex_reservations_table_period
+        EXCLUDE USING gist (table_id WITH =, reservation_period WITH &&)
+        WHERE (status IN ('PENDING', 'CONFIRMED'));
\ No newline at end of file
@@ -0,0 +1,8 @@
+CREATE INDEX idx_reservations_start_id
+    ON reservations ((lower(reservation_period)), id);
+
+CREATE INDEX idx_reservations_waiter_start_id
+    ON reservations (waiter_id, (lower(reservation_period)), id);
+
+CREATE INDEX idx_reservations_table_start_id
+    ON reservations (table_id, (lower(reservation_period)), id);
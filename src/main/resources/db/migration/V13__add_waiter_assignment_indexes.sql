@@ -0,0 +1,6 @@
+CREATE INDEX idx_work_shifts_shift_period
+    ON work_shifts USING gist (shift_period);
+
+CREATE INDEX idx_reservations_waiter_period
+    ON reservations USING gist (waiter_id, reservation_period)
+    WHERE status IN ('PENDING', 'CONFIRMED');
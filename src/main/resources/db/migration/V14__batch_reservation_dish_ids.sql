@@ -0,0 +1,2 @@
+ALTER TABLE reservation_dishes
+    ALTER COLUMN id SET INCREMENT BY 50;
@@ -0,0 +1,3 @@
+CREATE INDEX idx_notifications_unread_user
+    ON notifications (user_id)
+    WHERE is_read = false;
\ No newline at end of file
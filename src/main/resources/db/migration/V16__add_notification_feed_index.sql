@@ -0,0 +1,3 @@
+CREATE INDEX idx_notifications_user_feed
+    ON notifications (user_id, sent_at DESC, id DESC)
+    INCLUDE (title, content, is_read);
\ No newline at end of file
@@ -0,0 +1,2 @@
+CREATE INDEX idx_notifications_sent_at_brin
+    ON notifications USING brin (sent_at);
\ No newline at end of file
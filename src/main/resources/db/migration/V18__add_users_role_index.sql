@@ -0,0 +1,3 @@
+CREATE INDEX idx_users_role_active
+    ON users (role)
+    WHERE is_active = true;
\ No newline at end of file
@@ -0,0 +1,15 @@
+DROP INDEX idx_notifications_user_feed;
+
+ALTER TABLE notifications
+    ADD template SMALLINT,
+    ADD params   TEXT[],
+    ALTER COLUMN title DROP NOT NULL,
+    ALTER COLUMN content DROP NOT NULL;
+
+ALTER TABLE notifications
+    ADD CONSTRAINT chk_notifications_template_or_legacy
+        CHECK ((template IS NOT NULL AND params IS NOT NULL) OR (title IS NOT NULL AND content IS NOT NULL)) NOT VALID;
+
+CREATE INDEX idx_notifications_user_feed
+    ON notifications (user_id, sent_at DESC, id DESC)
+    INCLUDE (template, params, title, content, is_read);
\ No newline at end of file
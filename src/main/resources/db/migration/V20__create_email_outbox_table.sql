@@ -0,0 +1,17 @@
+CREATE TABLE email_outbox
+(
+    id              BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    recipient       VARCHAR(255)                            NOT NULL,
+    subject         VARCHAR(255)                            NOT NULL,
+    body            TEXT                                    NOT NULL,
+    status          VARCHAR(20)                             NOT NULL,
+    attempts        INTEGER                                 NOT NULL,
+    created_at      TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
+    next_attempt_at TIMESTAMP WITHOUT TIME ZONE             NOT NULL,
+    last_error      VARCHAR(500),
+    CONSTRAINT pk_email_outbox PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_email_outbox_due
+    ON email_outbox (next_attempt_at, id)
+    WHERE status = 'PENDING';
\ No newline at end of file
@@ -0,0 +1,6 @@
+CREATE TABLE scheduler_job_leases
+(
+    job_name     VARCHAR(100)             NOT NULL,
+    leased_until TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT pk_scheduler_job_leases PRIMARY KEY (job_name)
+);
\ No newline at end of file
@@ -0,0 +1,91 @@
+package org.example.api.benchmark;
+
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.example.api.service.EmailTemplate;
+import org.example.api.service.EmailTemplateRenderer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final String INLINE_ACTIVATION = """
+            <html>
+                <body>
+                    <h1>Witaj %s!</h1>
+                    <p>Dziękujemy za rejestrację. Kliknij poniższy link, aby aktywować konto:</p>
+                    <a href="%s">AKTYWUJ KONTO</a>
+                    <p>Link jest ważny przez 24 godziny.</p>
+                </body>
+            </html>
+            """;
+
+    private static final String FIRST_NAME = "Małgorzata";
+    private static final String ACTIVATION_URL =
+            "https://restauracja.example.com/activate?token=3f1c9a52-8d4e-4b7a-9c61-0e2f5d8b7a14";
+
+    private EmailTemplateRenderer renderer;
+    private Session session;
+    private String body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        renderer = new EmailTemplateRenderer();
+        session = Session.getInstance(new Properties());
+        body = renderer.render(EmailTemplate.ACTIVATION, FIRST_NAME, ACTIVATION_URL);
+    }
+
+    @Benchmark
+    public String inlineFormatted() {
+        return INLINE_ACTIVATION.formatted(HtmlUtils.htmlEscape(FIRST_NAME), HtmlUtils.htmlEscape(ACTIVATION_URL));
+    }
+
+    @Benchmark
+    public String precompiled() {
+        return renderer.render(EmailTemplate.ACTIVATION, FIRST_NAME, ACTIVATION_URL);
+    }
+
+    @Benchmark
+    public MimeMessage multipartMessage() throws MessagingException, IOException {
+        MimeMessage message = new MimeMessage(session);
+        MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+        helper.setTo("klient@example.com");
+        helper.setSubject(EmailTemplate.ACTIVATION.getSubject());
+        helper.setText(body, true);
+        message.writeTo(OutputStream.nullOutputStream());
+        return message;
+    }
+
+    @Benchmark
+    public MimeMessage singlePartMessage() throws MessagingException, IOException {
+        MimeMessage message = new MimeMessage(session);
+        message.setRecipients(Message.RecipientType.TO, "klient@example.com");
+        message.setSubject(EmailTemplate.ACTIVATION.getSubject(), "UTF-8");
+        message.setText(body, "UTF-8", "html");
+        message.writeTo(OutputStream.nullOutputStream());
+        return message;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(EmailTemplateBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,131 @@
+package org.example.api.benchmark;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.example.api.repository.UserRepository;
+import org.example.api.repository.UserTokenStateView;
+import org.example.api.security.JwtAuthenticationFilter;
+import org.example.api.service.JwtService;
+import org.example.api.service.UserTokenStateCache;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String SECRET = "c2VjcmV0LWtleS1mb3ItYmVuY2htYXJraW5nLWp3dC1wYXJzaW5nLW9ubHk=";
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {};
+
+    private UserDetails userDetails;
+    private UserDetailsService userDetailsService;
+    private JwtAuthenticationFilter filter;
+    private JwtAuthenticationFilter claimsFilter;
+    private MockHttpServletRequest request;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userDetails = User.withUsername("klient@example.com").password("hash").authorities("ROLE_CLIENT").build();
+        userDetailsService = username -> userDetails;
+
+        UserRepository userRepository = mock(UserRepository.class);
+        UserTokenStateView state = mock(UserTokenStateView.class);
+        when(state.getActive()).thenReturn(true);
+        when(userRepository.findTokenStateById(1L)).thenReturn(Optional.of(state));
+        UserTokenStateCache tokenStateCache =
+                new UserTokenStateCache(userRepository, new SimpleMeterRegistry(), 100, Duration.ofHours(1));
+
+        JwtService jwtService = new JwtService(SECRET, TimeUnit.HOURS.toMillis(1));
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, tokenStateCache);
+        claimsFilter = new JwtAuthenticationFilter(jwtService, userDetailsService, tokenStateCache);
+        ReflectionTestUtils.setField(claimsFilter, "claimsPrincipalEnabled", true);
+        token = jwtService.generateToken(Map.of(
+                JwtService.ROLE_CLAIM, "ROLE_CLIENT",
+                JwtService.ID_CLAIM, 1L,
+                JwtService.VERSION_CLAIM, 0), userDetails);
+
+        request = new MockHttpServletRequest("GET", "/api/notifications");
+        request.addHeader("Authorization", "Bearer " + token);
+    }
+
+    @TearDown(Level.Invocation)
+    public void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Object perClaimParsing() {
+        String username = legacyExtractClaim(token, Claims::getSubject);
+        UserDetails loaded = userDetailsService.loadUserByUsername(username);
+
+        if (legacyExtractClaim(token, Claims::getSubject).equals(loaded.getUsername())
+                && !legacyExtractClaim(token, Claims::getExpiration).before(new Date())) {
+            UsernamePasswordAuthenticationToken authToken =
+                    new UsernamePasswordAuthenticationToken(loaded, null, loaded.getAuthorities());
+            authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+            SecurityContextHolder.getContext().setAuthentication(authToken);
+        }
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Benchmark
+    public Object singlePassFilter() throws ServletException, IOException {
+        return runFilter(filter);
+    }
+
+    @Benchmark
+    public Object claimsPrincipalFilter() throws ServletException, IOException {
+        return runFilter(claimsFilter);
+    }
+
+    private Object runFilter(JwtAuthenticationFilter target) throws ServletException, IOException {
+        request.removeAttribute(JwtAuthenticationFilter.class.getName() + ".FILTERED");
+        target.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    private static <T> T legacyExtractClaim(String token, Function<Claims, T> resolver) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        Claims claims = Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+        return resolver.apply(claims);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,138 @@
+package org.example.api.benchmark;
+
+import org.example.api.service.TableOccupancyIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TableOccupancyBenchmark {
+
+    private static final String OVERLAPPING_SQL = """
+            SELECT r.* FROM reservations r
+            WHERE r.status IN ('PENDING', 'CONFIRMED')
+            AND r.reservation_period && tsrange(?, ?)
+            """;
+
+    @Param({"30", "200"})
+    private int tables;
+
+    @Param({"30"})
+    private int days;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private PreparedStatement overlapping;
+    private TableOccupancyIndex index;
+
+    private LocalDateTime start;
+    private LocalDateTime end;
+    private Long tableId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        postgres = new PostgreSQLContainer<>("postgres:17");
+        postgres.start();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("""
+                    CREATE TABLE reservations (
+                        id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                        reservation_period TSRANGE NOT NULL,
+                        status VARCHAR(30) NOT NULL,
+                        table_id BIGINT NOT NULL,
+                        client_id BIGINT NOT NULL,
+                        waiter_id BIGINT
+                    )
+                    """);
+            ddl.execute("""
+                    INSERT INTO reservations (reservation_period, status, table_id, client_id)
+                    SELECT tsrange(d + make_interval(hours => h), d + make_interval(hours => h + 2)),
+                           CASE WHEN (t + h) %% 5 = 0 THEN 'CANCELLED' ELSE 'CONFIRMED' END,
+                           t, 1
+                    FROM generate_series(DATE '%s', DATE '%s' + %d, INTERVAL '1 day') d,
+                         generate_series(1, %d) t,
+                         generate_series(10, 18, 2) h
+                    """.formatted(firstDay, firstDay, days - 1, tables));
+            ddl.execute("ANALYZE reservations");
+        }
+
+        index = new TableOccupancyIndex();
+        index.beginReload();
+        index.completeReload(LocalDate.now(), List.of());
+
+        try (Statement select = connection.createStatement();
+             ResultSet rs = select.executeQuery("""
+                     SELECT id, table_id, lower(reservation_period), upper(reservation_period)
+                     FROM reservations WHERE status IN ('PENDING', 'CONFIRMED')
+                     """)) {
+            while (rs.next()) {
+                index.put(rs.getLong(1), rs.getLong(2),
+                        rs.getObject(3, LocalDateTime.class), rs.getObject(4, LocalDateTime.class));
+            }
+        }
+
+        overlapping = connection.prepareStatement(OVERLAPPING_SQL);
+        start = firstDay.plusDays(days / 2).atTime(18, 0);
+        end = start.plusHours(2);
+        tableId = (long) tables / 2;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        overlapping.close();
+        connection.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public void sqlOccupiedTableIds(Blackhole blackhole) throws SQLException {
+        overlapping.setObject(1, start);
+        overlapping.setObject(2, end);
+
+        List<Long> ids = new ArrayList<>();
+        try (ResultSet rs = overlapping.executeQuery()) {
+            while (rs.next()) {
+                long id = rs.getLong("table_id");
+                if (!ids.contains(id)) {
+                    ids.add(id);
+                }
+            }
+        }
+        blackhole.consume(ids);
+    }
+
+    @Benchmark
+    public long[] indexOccupiedTableIds() {
+        return index.getOccupiedTableIds(start, end);
+    }
+
+    @Benchmark
+    public boolean indexIsTableOccupied() {
+        return index.covers(start, end) && index.isOccupied(tableId, start, end);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TableOccupancyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
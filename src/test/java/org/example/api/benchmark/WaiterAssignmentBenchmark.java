@@ -0,0 +1,150 @@
+package org.example.api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WaiterAssignmentBenchmark {
+
+    private static final String LEAST_LOADED_SQL = """
+            SELECT ws.waiter_id FROM work_shifts ws
+            JOIN waiters w ON w.id = ws.waiter_id
+            JOIN users u ON u.id = w.id
+            LEFT JOIN reservations r ON r.waiter_id = ws.waiter_id
+                AND r.status IN ('PENDING', 'CONFIRMED')
+                AND r.reservation_period && ws.shift_period
+            WHERE ws.shift_period @> tsrange(?, ?)
+            AND u.is_active = true
+            GROUP BY ws.waiter_id, w.speaks_english
+            ORDER BY CASE WHEN ? AND w.speaks_english <> ? THEN 1 ELSE 0 END,
+                     COUNT(DISTINCT r.id) FILTER (WHERE r.reservation_period && tsrange(?, ?)),
+                     COUNT(DISTINCT r.id),
+                     ws.waiter_id
+            LIMIT 1
+            """;
+
+    @Param({"20"})
+    private int waiters;
+
+    @Param({"30", "365"})
+    private int days;
+
+    @Param({"10", "60"})
+    private int reservationsPerWaiterPerDay;
+
+    private PostgreSQLContainer<?> postgres;
+    private Connection connection;
+    private PreparedStatement leastLoaded;
+
+    private LocalDateTime start;
+    private LocalDateTime end;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        postgres = new PostgreSQLContainer<>("postgres:17");
+        postgres.start();
+        connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+
+        LocalDate firstDay = LocalDate.now().plusDays(1);
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE EXTENSION IF NOT EXISTS btree_gist");
+            ddl.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, is_active BOOLEAN NOT NULL)");
+            ddl.execute("CREATE TABLE waiters (id BIGINT PRIMARY KEY, speaks_english BOOLEAN NOT NULL)");
+            ddl.execute("""
+                    CREATE TABLE work_shifts (
+                        id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                        waiter_id BIGINT NOT NULL,
+                        shift_period TSRANGE NOT NULL
+                    )
+                    """);
+            ddl.execute("""
+                    CREATE TABLE reservations (
+                        id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                        reservation_period TSRANGE NOT NULL,
+                        status VARCHAR(30) NOT NULL,
+                        waiter_id BIGINT
+                    )
+                    """);
+            ddl.execute("CREATE INDEX idx_work_shifts_shift_period ON work_shifts USING gist (shift_period)");
+            ddl.execute("""
+                    CREATE INDEX idx_reservations_waiter_period ON reservations
+                    USING gist (waiter_id, reservation_period)
+                    WHERE status IN ('PENDING', 'CONFIRMED')
+                    """);
+
+            ddl.execute("INSERT INTO users SELECT w, true FROM generate_series(1, %d) w".formatted(waiters));
+            ddl.execute("INSERT INTO waiters SELECT w, w %% 2 = 0 FROM generate_series(1, %d) w".formatted(waiters));
+            ddl.execute("""
+                    INSERT INTO work_shifts (waiter_id, shift_period)
+                    SELECT w, tsrange(d + TIME '10:00', d + TIME '22:00')
+                    FROM generate_series(DATE '%s', DATE '%s' + %d, INTERVAL '1 day') d,
+                         generate_series(1, %d) w
+                    """.formatted(firstDay, firstDay, days - 1, waiters));
+            ddl.execute("""
+                    INSERT INTO reservations (reservation_period, status, waiter_id)
+                    SELECT tsrange(d + make_interval(mins => 600 + (n * 7) %% 540),
+                                   d + make_interval(mins => 720 + (n * 7) %% 540)),
+                           CASE WHEN n %% 4 = 0 THEN 'COMPLETED' ELSE 'CONFIRMED' END,
+                           w
+                    FROM generate_series(DATE '%s', DATE '%s' + %d, INTERVAL '1 day') d,
+                         generate_series(1, %d) w,
+                         generate_series(1, %d) n
+                    """.formatted(firstDay, firstDay, days - 1, waiters, reservationsPerWaiterPerDay));
+            ddl.execute("ANALYZE");
+        }
+
+        leastLoaded = connection.prepareStatement(LEAST_LOADED_SQL);
+        start = firstDay.plusDays(days / 2).atTime(18, 0);
+        end = start.plusHours(2);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        leastLoaded.close();
+        connection.close();
+        postgres.stop();
+    }
+
+    private long assign(boolean hasPreference, boolean speaksEnglish) throws SQLException {
+        leastLoaded.setObject(1, start);
+        leastLoaded.setObject(2, end);
+        leastLoaded.setBoolean(3, hasPreference);
+        leastLoaded.setBoolean(4, speaksEnglish);
+        leastLoaded.setObject(5, start);
+        leastLoaded.setObject(6, end);
+
+        try (ResultSet rs = leastLoaded.executeQuery()) {
+            return rs.next() ? rs.getLong(1) : -1;
+        }
+    }
+
+    @Benchmark
+    public long leastLoadedWaiter() throws SQLException {
+        return assign(false, false);
+    }
+
+    @Benchmark
+    public long leastLoadedEnglishSpeakingWaiter() throws SQLException {
+        return assign(true, true);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WaiterAssignmentBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
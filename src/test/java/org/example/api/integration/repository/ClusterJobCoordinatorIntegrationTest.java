@@ -0,0 +1,165 @@
+package org.example.api.integration.repository;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.api.service.ClusterJobCoordinator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers
+@DisplayName("Cluster Job Coordinator Integration Tests")
+class ClusterJobCoordinatorIntegrationTest {
+
+    private static final String JOB = "test.job";
+    private static final String YEARLY = "0 0 0 1 1 *";
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17")
+            .withDatabaseName("testdb")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Configuration
+    @Import(ClusterJobCoordinator.class)
+    static class NodeConfig {
+
+        @Bean(destroyMethod = "close")
+        DataSource dataSource() {
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setJdbcUrl(postgres.getJdbcUrl());
+            dataSource.setUsername(postgres.getUsername());
+            dataSource.setPassword(postgres.getPassword());
+            return dataSource;
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    private AnnotationConfigApplicationContext firstNode;
+    private AnnotationConfigApplicationContext secondNode;
+
+    @BeforeEach
+    void setUp() {
+        firstNode = new AnnotationConfigApplicationContext(NodeConfig.class);
+        secondNode = new AnnotationConfigApplicationContext(NodeConfig.class);
+
+        firstNode.getBean(JdbcTemplate.class).execute("DROP TABLE IF EXISTS scheduler_job_leases");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V22__create_scheduler_job_leases_table.sql"))
+                .execute(firstNode.getBean(DataSource.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        firstNode.close();
+        secondNode.close();
+    }
+
+    @Test
+    @DisplayName("Should skip a job on one node while another node holds its lock")
+    void shouldSkipWhileOtherNodeHoldsLock() throws Exception {
+        ClusterJobCoordinator first = firstNode.getBean(ClusterJobCoordinator.class);
+        ClusterJobCoordinator second = secondNode.getBean(ClusterJobCoordinator.class);
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        Future<Boolean> holder = executor.submit(() -> first.runExclusively(JOB, () -> {
+            running.countDown();
+            awaitQuietly(release);
+        }));
+
+        assertTrue(running.await(10, TimeUnit.SECONDS));
+        assertFalse(second.runExclusively(JOB, () -> fail("Job should not run on the second node")));
+        assertTrue(second.runExclusively("other.job", () -> {}));
+
+        release.countDown();
+        assertTrue(holder.get(10, TimeUnit.SECONDS));
+        assertTrue(second.runExclusively(JOB, () -> {}));
+        executor.shutdown();
+
+        MeterRegistry secondMetrics = secondNode.getBean(MeterRegistry.class);
+        assertEquals(1.0, secondMetrics.get("scheduler.lock.skipped").tag("job", JOB).counter().count());
+        assertEquals(1, secondMetrics.get("scheduler.lock.hold").tag("job", JOB).timer().count());
+        assertEquals(2, secondMetrics.get("scheduler.lock.wait").tag("job", JOB).timer().count());
+    }
+
+    @Test
+    @DisplayName("Should run a job on exactly one node when both fire at the same tick")
+    void shouldRunOnExactlyOneNodePerTick() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch go = new CountDownLatch(1);
+
+        Future<Boolean> firstTick = executor.submit(tick(firstNode, go, runs));
+        Future<Boolean> secondTick = executor.submit(tick(secondNode, go, runs));
+
+        go.countDown();
+        boolean firstRan = firstTick.get(10, TimeUnit.SECONDS);
+        boolean secondRan = secondTick.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertEquals(1, runs.get());
+        assertNotEquals(firstRan, secondRan);
+    }
+
+    @Test
+    @DisplayName("Should not run a tick again on a node that fires after the first run has finished")
+    void shouldRunOnceWhenNodesFireOneAfterAnother() {
+        ClusterJobCoordinator first = firstNode.getBean(ClusterJobCoordinator.class);
+        ClusterJobCoordinator second = secondNode.getBean(ClusterJobCoordinator.class);
+        AtomicInteger runs = new AtomicInteger();
+
+        assertTrue(first.runOncePerTick(JOB, YEARLY, runs::incrementAndGet));
+        assertFalse(second.runOncePerTick(JOB, YEARLY, runs::incrementAndGet));
+        assertEquals(1, runs.get());
+
+        firstNode.getBean(JdbcTemplate.class).update("UPDATE scheduler_job_leases SET leased_until = now() WHERE job_name = ?", JOB);
+
+        assertTrue(second.runOncePerTick(JOB, YEARLY, runs::incrementAndGet));
+        assertEquals(2, runs.get());
+        assertEquals(1.0, secondNode.getBean(MeterRegistry.class).get("scheduler.lock.skipped").tag("job", JOB).counter().count());
+    }
+
+    private static Callable<Boolean> tick(AnnotationConfigApplicationContext node, CountDownLatch go, AtomicInteger runs) {
+        ClusterJobCoordinator coordinator = node.getBean(ClusterJobCoordinator.class);
+        return () -> {
+            go.await();
+            return coordinator.runOncePerTick(JOB, YEARLY, runs::incrementAndGet);
+        };
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
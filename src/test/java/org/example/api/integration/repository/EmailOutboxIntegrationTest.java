@@ -0,0 +1,48 @@
+package org.example.api.integration.repository;
+
+import org.example.api.model.EmailOutboxMessage;
+import org.example.api.model.EmailOutboxStatus;
+import org.example.api.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Email Outbox Integration Tests")
+class EmailOutboxIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private EmailOutboxRepository outboxRepository;
+
+    private EmailOutboxMessage save(String subject, LocalDateTime createdAt, LocalDateTime nextAttemptAt, EmailOutboxStatus status) {
+        return outboxRepository.save(EmailOutboxMessage.builder()
+                .recipient("outbox@test.pl")
+                .subject(subject)
+                .body("<p>Treść</p>")
+                .status(status)
+                .createdAt(createdAt)
+                .nextAttemptAt(nextAttemptAt)
+                .build());
+    }
+
+    @Test
+    @DisplayName("Should lock only pending messages that are due, oldest attempt first")
+    void shouldLockDuePendingMessages() {
+        LocalDateTime now = LocalDateTime.now();
+        save("Later", now.minusMinutes(5), now.plusMinutes(5), EmailOutboxStatus.PENDING);
+        save("Second", now.minusMinutes(4), now.minusMinutes(1), EmailOutboxStatus.PENDING);
+        save("First", now.minusMinutes(3), now.minusMinutes(2), EmailOutboxStatus.PENDING);
+        save("Failed", now.minusMinutes(10), now.minusMinutes(10), EmailOutboxStatus.FAILED);
+
+        List<EmailOutboxMessage> due = outboxRepository.lockDue(now, 10);
+
+        assertEquals(List.of("First", "Second"), due.stream().map(EmailOutboxMessage::getSubject).toList());
+        assertEquals(1, outboxRepository.lockDue(now, 1).size());
+        assertEquals(now.minusMinutes(5).withNano(0),
+                outboxRepository.findOldestPendingCreatedAt().orElseThrow().withNano(0));
+    }
+}
\ No newline at end of file
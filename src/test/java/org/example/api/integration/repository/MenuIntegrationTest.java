@@ -12,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -197,5 +198,32 @@ class MenuIntegrationTest extends BaseIntegrationTest {
             assertEquals(1, updated.getIngredients().size());
             assertTrue(updated.getIngredients().contains(ing2));
         }
+
+        @Test
+        @DisplayName("Should resolve only active dishes by ids in one query")
+        void shouldResolveActiveDishesByIds() {
+            Category cat = categoryRepository.save(Category.builder().name("Batch Cat").build());
+
+            Dish active = dishRepository.save(Dish.builder()
+                    .name("Aktywne")
+                    .description("Desc")
+                    .price(new BigDecimal("10.00"))
+                    .imageUrl("https://example.com/img.jpg")
+                    .category(cat)
+                    .build());
+            Dish inactive = dishRepository.save(Dish.builder()
+                    .name("Nieaktywne")
+                    .description("Desc")
+                    .price(new BigDecimal("12.00"))
+                    .imageUrl("https://example.com/img.jpg")
+                    .category(cat)
+                    .isActive(false)
+                    .build());
+
+            List<Dish> resolved = dishRepository.findAllByIdInAndIsActiveTrue(
+                    Set.of(active.getId(), inactive.getId(), -1L));
+
+            assertEquals(List.of(active.getId()), resolved.stream().map(Dish::getId).toList());
+        }
     }
 }
\ No newline at end of file
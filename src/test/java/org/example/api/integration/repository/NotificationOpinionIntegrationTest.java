@@ -1,17 +1,29 @@
 package org.example.api.integration.repository;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.example.api.model.*;
 import org.example.api.repository.*;
+import org.example.api.service.NotificationSink;
+import org.example.api.service.NotificationStreamRelay;
+import org.example.api.service.UnreadNotificationCounter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.nio.file.Path;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 @DisplayName("Notification & Opinion Integration Tests")
 class NotificationOpinionIntegrationTest extends BaseIntegrationTest {
@@ -28,6 +40,12 @@ class NotificationOpinionIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private OpinionRepository opinionRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private User user;
     private Client client;
 
@@ -58,8 +76,8 @@ class NotificationOpinionIntegrationTest extends BaseIntegrationTest {
             LocalDateTime sentAt = LocalDateTime.now();
 
             Notification notification = Notification.builder()
-                    .title("Potwierdzenie rezerwacji")
-                    .content("Twoja rezerwacja na stolik nr 5 została potwierdzona.")
+                    .template(NotificationTemplate.CUSTOM)
+                    .params(List.of("Potwierdzenie rezerwacji", "Twoja rezerwacja na stolik nr 5 została potwierdzona."))
                     .sentAt(sentAt)
                     .user(user)
                     .build();
@@ -67,23 +85,42 @@ class NotificationOpinionIntegrationTest extends BaseIntegrationTest {
             Notification saved = notificationRepository.save(notification);
 
             assertNotNull(saved.getId());
-            assertEquals("Potwierdzenie rezerwacji", saved.getTitle());
+            assertEquals(NotificationTemplate.CUSTOM, saved.getTemplate());
+            assertEquals("Potwierdzenie rezerwacji", saved.getTemplate().renderTitle(saved.getParams()));
             assertEquals(user.getId(), saved.getUser().getId());
         }
 
+        @Test
+        @DisplayName("Should render rows written before templates from the legacy columns")
+        void shouldRenderLegacyRows() {
+            jdbcTemplate.update("INSERT INTO notifications (user_id, title, content, sent_at, is_read) VALUES (?, ?, ?, ?, false)",
+                    user.getId(), "Stary tytuł", "Stara treść", LocalDateTime.now().minusDays(1));
+            notificationRepository.save(Notification.builder()
+                    .template(NotificationTemplate.CUSTOM)
+                    .params(List.of("Nowy tytuł", "Nowa treść"))
+                    .sentAt(LocalDateTime.now())
+                    .user(user)
+                    .build());
+
+            List<NotificationFeedRow> feed = notificationRepository.findFeed(user.getId(), Limit.of(10));
+
+            assertEquals(List.of("Nowy tytuł", "Stary tytuł"), feed.stream().map(NotificationFeedRow::renderTitle).toList());
+            assertEquals("Stara treść", feed.getLast().renderContent());
+        }
+
         @Test
         @DisplayName("Should save multiple notifications for one user")
         void shouldSaveMultipleNotificationsForOneUser() {
             notificationRepository.save(Notification.builder()
-                    .title("Notification 1")
-                    .content("Content 1")
+                    .template(NotificationTemplate.CUSTOM)
+                    .params(List.of("Notification 1", "Content 1"))
                     .sentAt(LocalDateTime.now())
                     .user(user)
                     .build());
 
             notificationRepository.save(Notification.builder()
-                    .title("Notification 2")
-                    .content("Content 2")
+                    .template(NotificationTemplate.CUSTOM)
+                    .params(List.of("Notification 2", "Content 2"))
                     .sentAt(LocalDateTime.now())
                     .user(user)
                     .build());
@@ -96,27 +133,25 @@ class NotificationOpinionIntegrationTest extends BaseIntegrationTest {
         @DisplayName("Should update Notification")
         void shouldUpdateNotification() {
             Notification notification = notificationRepository.save(Notification.builder()
-                    .title("Old Title")
-                    .content("Old Content")
+                    .template(NotificationTemplate.CUSTOM)
+                    .params(List.of("Old Title", "Old Content"))
                     .sentAt(LocalDateTime.now())
                     .user(user)
                     .build());
 
-            notification.setTitle("New Title");
-            notification.setContent("New Content");
+            notification.setParams(List.of("New Title", "New Content"));
             notificationRepository.save(notification);
 
             Notification updated = notificationRepository.findById(notification.getId()).orElseThrow();
-            assertEquals("New Title", updated.getTitle());
-            assertEquals("New Content", updated.getContent());
+            assertEquals(List.of("New Title", "New Content"), updated.getParams());
         }
 
         @Test
         @DisplayName("Should delete Notification")
         void shouldDeleteNotification() {
             Notification notification = notificationRepository.save(Notification.builder()
-                    .title("Delete Me")
-                    .content("Content")
+                    .template(NotificationTemplate.CUSTOM)
+                    .params(List.of("Delete Me", "Content"))
                     .sentAt(LocalDateTime.now())
                     .user(user)
                     .build());
@@ -125,6 +160,124 @@ class NotificationOpinionIntegrationTest extends BaseIntegrationTest {
 
             assertFalse(notificationRepository.existsById(notification.getId()));
         }
+
+        @Test
+        @DisplayName("Should count unread notifications for several users in one query")
+        void shouldCountUnreadByUserIds() {
+            User other = userRepository.save(User.builder()
+                    .email("notif.other" + System.nanoTime() + "@test.pl")
+                    .passwordHash("hash")
+                    .firstName("Inny")
+                    .lastName("Użytkownik")
+                    .phoneNumber("666777999")
+                    .role(Role.ROLE_CLIENT)
+                    .build());
+
+            for (int i = 0; i < 3; i++) {
+                notificationRepository.save(Notification.builder()
+                        .template(NotificationTemplate.CUSTOM)
+                        .params(List.of("Unread " + i, "Content"))
+                        .sentAt(LocalDateTime.now())
+                        .user(user)
+                        .isRead(i == 0)
+                        .build());
+            }
+
+            List<UnreadCountView> counts = notificationRepository.countUnreadByUserIds(List.of(user.getId(), other.getId()));
+
+            assertEquals(1, counts.size());
+            assertEquals(user.getId(), counts.get(0).getUserId());
+            assertEquals(2, counts.get(0).getUnread());
+        }
+
+        @Test
+        @DisplayName("Should mark only the user's unread notifications in one statement and return the count")
+        void shouldBulkMarkAsRead() {
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                ids.add(notificationRepository.save(Notification.builder()
+                        .template(NotificationTemplate.CUSTOM)
+                        .params(List.of("Bulk " + i, "Content"))
+                        .sentAt(LocalDateTime.now())
+                        .user(user)
+                        .isRead(i == 0)
+                        .build()).getId());
+            }
+
+            assertEquals(1, notificationRepository.markAsRead(user.getId(), List.of(ids.get(0), ids.get(1))));
+            assertEquals(0, notificationRepository.markAsRead(user.getId() + 1000, List.of(ids.get(2))));
+            assertEquals(2, notificationRepository.markAllAsRead(user.getId()));
+            assertEquals(0, notificationRepository.countByUserIdAndIsReadFalse(user.getId()));
+        }
+
+        @Test
+        @DisplayName("Should page the feed newest first by sent time and id without gaps or repeats")
+        void shouldPageFeedByKeyset() {
+            LocalDateTime sentAt = LocalDateTime.of(2025, 3, 1, 12, 0);
+            for (int i = 0; i < 5; i++) {
+                notificationRepository.save(Notification.builder()
+                        .template(NotificationTemplate.CUSTOM)
+                        .params(List.of("Feed " + i, "Content"))
+                        .sentAt(i < 3 ? sentAt : sentAt.plusMinutes(i))
+                        .user(user)
+                        .build());
+            }
+
+            List<NotificationFeedRow> first = notificationRepository.findFeed(user.getId(), Limit.of(2));
+            NotificationFeedRow last = first.getLast();
+            List<NotificationFeedRow> second = notificationRepository.findFeedAfter(
+                    user.getId(), last.sentAt(), last.id(), Limit.of(10));
+
+            assertEquals(List.of("Feed 4", "Feed 3"), first.stream().map(row -> row.params().getFirst()).toList());
+            assertEquals(List.of("Feed 2", "Feed 1", "Feed 0"), second.stream().map(row -> row.params().getFirst()).toList());
+        }
+
+        @Test
+        @DisplayName("Should purge old read notifications and unread ones beyond the per-user cap")
+        void shouldPurgeByRetentionPolicy() {
+            LocalDateTime now = LocalDateTime.now();
+            for (int i = 0; i < 6; i++) {
+                notificationRepository.save(Notification.builder()
+                        .template(NotificationTemplate.CUSTOM)
+                        .params(List.of("Retention " + i, "Content"))
+                        .sentAt(now.minusDays(10 - i))
+                        .user(user)
+                        .isRead(i < 2)
+                        .build());
+            }
+
+            assertEquals(1, notificationRepository.deleteReadSentBefore(now.minusDays(9).minusHours(1), 10));
+            assertEquals(List.of(user.getId()), notificationRepository.findUserIdsWithUnreadOver(2));
+            assertEquals(2, notificationRepository.deleteUnreadOverCap(user.getId(), 2, 10));
+
+            assertEquals(List.of("Retention 5", "Retention 4", "Retention 1"),
+                    notificationRepository.findFeed(user.getId(), Limit.of(10)).stream().map(row -> row.params().getFirst()).toList());
+        }
+
+        @Test
+        @DisplayName("Should fan out a notification to every active user of a role in one statement")
+        void shouldFanOutToRole(@TempDir Path spoolDir) {
+            User inactive = userRepository.save(User.builder()
+                    .email("notif.inactive" + System.nanoTime() + "@test.pl")
+                    .passwordHash("hash")
+                    .firstName("Nieaktywny")
+                    .lastName("Użytkownik")
+                    .phoneNumber("666777000")
+                    .role(Role.ROLE_CLIENT)
+                    .isActive(false)
+                    .build());
+            Integer activeClients = jdbcTemplate.queryForObject(
+                    "SELECT count(*) FROM users WHERE role = 'ROLE_CLIENT' AND is_active", Integer.class);
+
+            NotificationSink sink = new NotificationSink(jdbcTemplate, transactionManager, new ObjectMapper(),
+                    mock(UnreadNotificationCounter.class), mock(NotificationStreamRelay.class),
+                    new SimpleMeterRegistry(), 10, 10, 100, spoolDir.resolve("spool.jsonl"),
+                    spoolDir.resolve("dead-letter.jsonl"));
+
+            assertEquals(activeClients, sink.fanOut(Role.ROLE_CLIENT, NotificationTemplate.CUSTOM, List.of("Ogłoszenie", "Treść")));
+            assertEquals(1, notificationRepository.countByUserIdAndIsReadFalse(user.getId()));
+            assertEquals(0, notificationRepository.countByUserIdAndIsReadFalse(inactive.getId()));
+        }
     }
 
     @Nested
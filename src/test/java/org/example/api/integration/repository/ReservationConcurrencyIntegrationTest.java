@@ -0,0 +1,133 @@
+package org.example.api.integration.repository;
+
+import org.example.api.dto.ReservationRequest;
+import org.example.api.exception.ResourceAlreadyExistsException;
+import org.example.api.model.*;
+import org.example.api.repository.*;
+import org.example.api.service.ReservationService;
+import org.example.api.service.TableOccupancyIndex;
+import org.example.api.service.WaiterAssignmentEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Reservation Concurrency Integration Tests")
+@Import({ReservationService.class, TableOccupancyIndex.class, WaiterAssignmentEngine.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Sql(scripts = "/db/migration/V11__add_reservation_overlap_exclusion_constraint.sql",
+        config = @SqlConfig(separator = ScriptUtils.EOF_STATEMENT_SEPARATOR))
+class ReservationConcurrencyIntegrationTest extends BaseIntegrationTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ReservationService reservationService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ClientRepository clientRepository;
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private RestaurantTable table;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < THREADS; i++) {
+            User user = userRepository.save(User.builder()
+                    .email("race.client" + i + "." + System.nanoTime() + "@test.pl")
+                    .passwordHash("hash")
+                    .firstName("Klient")
+                    .lastName("Wyścigu")
+                    .phoneNumber("123456789")
+                    .role(Role.ROLE_CLIENT)
+                    .build());
+            clientRepository.save(Client.builder().user(user).build());
+            users.add(user);
+        }
+
+        table = tableRepository.save(RestaurantTable.builder()
+                .tableNumber((int) (System.nanoTime() % 10000))
+                .seats(4)
+                .rowPosition(7)
+                .columnPosition(7)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (User user : users) {
+            reservationRepository.deleteAll(reservationRepository.findAllByClientId(user.getId()));
+            notificationRepository.deleteAll(notificationRepository.findAllByUserId(user.getId(), Sort.unsorted()));
+            clientRepository.deleteById(user.getId());
+            userRepository.delete(user);
+        }
+        tableRepository.delete(table);
+    }
+
+    @Test
+    @DisplayName("Should let exactly one of many concurrent bookings of the same slot win")
+    void shouldAllowExactlyOneWinnerPerSlot() throws Exception {
+        LocalDateTime start = LocalDate.now().plusDays(30).atTime(18, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch go = new CountDownLatch(1);
+        AtomicInteger winners = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < THREADS; i++) {
+            String email = users.get(i).getEmail();
+            LocalDateTime offset = start.plusMinutes(15L * (i % 3));
+
+            futures.add(executor.submit(() -> {
+                ready.countDown();
+                go.await();
+                try {
+                    reservationService.createReservation(email,
+                            new ReservationRequest(table.getId(), offset, offset.plusHours(2), null, null));
+                    winners.incrementAndGet();
+                } catch (ResourceAlreadyExistsException e) {
+                    conflicts.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        ready.await();
+        go.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(1, winners.get());
+        assertEquals(THREADS - 1, conflicts.get());
+        assertEquals(1, reservationRepository.findOverlappingReservations(start, start.plusHours(3)).stream()
+                .filter(r -> r.getRestaurantTable().getId().equals(table.getId()))
+                .count());
+    }
+}
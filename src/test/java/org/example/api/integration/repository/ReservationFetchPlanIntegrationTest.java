@@ -0,0 +1,166 @@
+package org.example.api.integration.repository;
+
+import io.hypersistence.utils.hibernate.type.range.Range;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.api.model.*;
+import org.example.api.repository.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Reservation Fetch Plan Integration Tests")
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ReservationFetchPlanIntegrationTest extends BaseIntegrationTest {
+
+    private static final long MAX_STATEMENTS = 4;
+
+    @Autowired
+    private TestEntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ClientRepository clientRepository;
+    @Autowired
+    private WaiterRepository waiterRepository;
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private DishRepository dishRepository;
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private Client client;
+    private Waiter waiter;
+    private Dish dish;
+
+    @BeforeEach
+    void setUp() {
+        client = clientRepository.save(Client.builder().user(userRepository.save(user("fetch.client", Role.ROLE_CLIENT))).build());
+        waiter = waiterRepository.save(Waiter.builder()
+                .user(userRepository.save(user("fetch.waiter", Role.ROLE_WAITER)))
+                .hireDate(LocalDate.now())
+                .speaksEnglish(false)
+                .build());
+
+        Category category = categoryRepository.save(Category.builder().name("Fetch Cat " + System.nanoTime()).build());
+        dish = dishRepository.save(Dish.builder()
+                .name("Fetch Dish")
+                .description("Test")
+                .price(new BigDecimal("10.00"))
+                .imageUrl("https://example.com/img.jpg")
+                .category(category)
+                .build());
+    }
+
+    private static User user(String prefix, Role role) {
+        return User.builder()
+                .email(prefix + System.nanoTime() + "@test.pl")
+                .passwordHash("hash")
+                .firstName("Imię")
+                .lastName("Nazwisko")
+                .phoneNumber("123456789")
+                .role(role)
+                .build();
+    }
+
+    private void createReservations(int count) {
+        for (int i = 0; i < count; i++) {
+            RestaurantTable table = tableRepository.save(RestaurantTable.builder()
+                    .tableNumber(i)
+                    .seats(4)
+                    .rowPosition(i)
+                    .columnPosition(i)
+                    .build());
+
+            LocalDateTime start = LocalDateTime.now().plusDays(i + 1L);
+            Reservation reservation = Reservation.builder()
+                    .reservationPeriod(Range.closedOpen(start, start.plusHours(2)))
+                    .status(ReservationStatus.CONFIRMED)
+                    .restaurantTable(table)
+                    .client(client)
+                    .waiter(i % 2 == 0 ? waiter : null)
+                    .build();
+
+            reservation.getReservationDishes().add(ReservationDish.builder()
+                    .reservation(reservation)
+                    .dish(dish)
+                    .quantity(2)
+                    .build());
+
+            reservationRepository.save(reservation);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long countStatements(Supplier<List<Reservation>> listing) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        for (Reservation r : listing.get()) {
+            assertNotNull(r.getClient().getUser().getEmail());
+            assertNotNull(r.getRestaurantTable().getTableNumber());
+            if (r.getWaiter() != null) {
+                assertNotNull(r.getWaiter().getUser().getFirstName());
+            }
+            r.getReservationDishes().forEach(d -> assertNotNull(d.getDish().getName()));
+        }
+
+        return statistics.getPrepareStatementCount();
+    }
+
+    private static Keyset cursorAfter(List<Reservation> page) {
+        Reservation last = page.getLast();
+        return new Keyset(last.getReservationPeriod().lower(), last.getId());
+    }
+
+    @ParameterizedTest(name = "{0} reservations")
+    @ValueSource(ints = {3, 40})
+    @DisplayName("Should page through all reservations with a bounded number of statements")
+    void shouldPageAllWithBoundedStatements(int count) {
+        createReservations(count);
+        ReservationFilter filter = new ReservationFilter(null, null, null, null, null);
+        int size = (count + 1) / 2;
+
+        List<Reservation> firstPage = reservationRepository.findPage(filter, null, size);
+        List<Reservation> secondPage = reservationRepository.findPage(filter, cursorAfter(firstPage), size);
+
+        assertEquals(count, firstPage.size() + secondPage.size());
+        assertTrue(countStatements(() -> reservationRepository.findPage(filter, null, size)) <= MAX_STATEMENTS);
+        assertTrue(countStatements(() -> reservationRepository.findPage(filter, cursorAfter(firstPage), size)) <= MAX_STATEMENTS);
+    }
+
+    @ParameterizedTest(name = "{0} reservations")
+    @ValueSource(ints = {3, 40})
+    @DisplayName("Should list client and waiter reservations with a bounded number of statements")
+    void shouldListClientAndWaiterReservationsWithBoundedStatements(int count) {
+        createReservations(count);
+        ReservationFilter waiterFilter = new ReservationFilter(ReservationStatus.CONFIRMED, null, null, null, null)
+                .withWaiterId(waiter.getId());
+        List<Reservation> firstPage = reservationRepository.findPage(waiterFilter, null, 1);
+
+        assertTrue(countStatements(() -> reservationRepository.findAllByClientId(client.getId())) <= MAX_STATEMENTS);
+        assertTrue(countStatements(() -> reservationRepository.findPage(waiterFilter, cursorAfter(firstPage), count))
+                <= MAX_STATEMENTS);
+        assertEquals((count + 1) / 2 - 1, reservationRepository.findPage(waiterFilter, cursorAfter(firstPage), count).size());
+    }
+}
\ No newline at end of file
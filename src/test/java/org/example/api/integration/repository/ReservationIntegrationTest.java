@@ -12,6 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -231,4 +232,135 @@ class ReservationIntegrationTest extends BaseIntegrationTest {
             assertFalse(reservationRepository.existsById(reservation.getId()));
         }
     }
+
+    @Nested
+    @DisplayName("Availability Query Tests")
+    class AvailabilityQueryTests {
+
+        @Test
+        @DisplayName("Should return periods of active reservations overlapping the window")
+        void shouldReturnActivePeriodsOverlappingWindow() {
+            LocalDateTime start = LocalDateTime.of(2031, 3, 10, 18, 0);
+
+            reservationRepository.save(Reservation.builder()
+                    .reservationPeriod(Range.closedOpen(start, start.plusHours(2)))
+                    .status(ReservationStatus.CONFIRMED)
+                    .restaurantTable(table)
+                    .client(client)
+                    .build());
+
+            reservationRepository.save(Reservation.builder()
+                    .reservationPeriod(Range.closedOpen(start.minusHours(4), start.minusHours(2)))
+                    .status(ReservationStatus.CANCELLED)
+                    .restaurantTable(table)
+                    .client(client)
+                    .build());
+
+            List<ReservationPeriodView> periods = reservationRepository.findActivePeriodsOverlapping(
+                    start.toLocalDate().atTime(10, 0), start.toLocalDate().atTime(22, 0));
+
+            assertEquals(1, periods.size());
+            assertEquals(table.getId(), periods.get(0).getTableId());
+            assertEquals(start, periods.get(0).getStartsAt());
+            assertEquals(start.plusHours(2), periods.get(0).getEndsAt());
+        }
+    }
+
+    @Nested
+    @DisplayName("Keyset Pagination Tests")
+    class KeysetPaginationTests {
+
+        private Reservation reserve(LocalDateTime start, ReservationStatus status) {
+            return reservationRepository.save(Reservation.builder()
+                    .reservationPeriod(Range.closedOpen(start, start.plusHours(2)))
+                    .status(status)
+                    .restaurantTable(table)
+                    .client(client)
+                    .waiter(waiter)
+                    .build());
+        }
+
+        @Test
+        @DisplayName("Should walk pages newest first without gaps or duplicates")
+        void shouldWalkPagesInOrder() {
+            LocalDateTime start = LocalDateTime.of(2032, 1, 10, 12, 0);
+            Reservation first = reserve(start, ReservationStatus.COMPLETED);
+            Reservation second = reserve(start.plusDays(1), ReservationStatus.COMPLETED);
+            Reservation third = reserve(start.plusDays(1), ReservationStatus.CANCELLED);
+            Reservation fourth = reserve(start.plusDays(2), ReservationStatus.COMPLETED);
+            ReservationFilter filter = new ReservationFilter(null, null, null, table.getId(), null);
+
+            List<Reservation> page = reservationRepository.findPage(filter, null, 2);
+            assertEquals(List.of(fourth.getId(), third.getId()), page.stream().map(Reservation::getId).toList());
+
+            Reservation last = page.get(1);
+            Keyset after = Keyset.decode(new Keyset(last.getReservationPeriod().lower(), last.getId()).encode());
+            page = reservationRepository.findPage(filter, after, 2);
+            assertEquals(List.of(second.getId(), first.getId()), page.stream().map(Reservation::getId).toList());
+        }
+
+        @Test
+        @DisplayName("Should apply status, date range and waiter filters")
+        void shouldApplyFilters() {
+            LocalDateTime start = LocalDateTime.of(2032, 2, 10, 12, 0);
+            reserve(start, ReservationStatus.COMPLETED);
+            Reservation match = reserve(start.plusDays(1), ReservationStatus.COMPLETED);
+            reserve(start.plusDays(1), ReservationStatus.CANCELLED);
+            reserve(start.plusDays(2), ReservationStatus.COMPLETED);
+
+            List<Reservation> page = reservationRepository.findPage(new ReservationFilter(
+                    ReservationStatus.COMPLETED,
+                    start.plusDays(1).toLocalDate().atStartOfDay(),
+                    start.plusDays(2).toLocalDate().atStartOfDay(),
+                    table.getId(),
+                    waiter.getId()), null, 10);
+
+            assertEquals(List.of(match.getId()), page.stream().map(Reservation::getId).toList());
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Status Transition Tests")
+    class BulkStatusTransitionTests {
+
+        private Reservation reserve(LocalDateTime start, ReservationStatus status) {
+            return reservationRepository.save(Reservation.builder()
+                    .reservationPeriod(Range.closedOpen(start, start.plusHours(2)))
+                    .status(status)
+                    .restaurantTable(table)
+                    .client(client)
+                    .build());
+        }
+
+        @Test
+        @DisplayName("Should complete expired confirmed reservations in bounded chunks")
+        void shouldCompleteExpiredInChunks() {
+            LocalDateTime past = LocalDateTime.of(2020, 6, 1, 12, 0);
+            Reservation first = reserve(past, ReservationStatus.CONFIRMED);
+            Reservation second = reserve(past.plusDays(1), ReservationStatus.CONFIRMED);
+            reserve(past.plusDays(2), ReservationStatus.PENDING);
+            reserve(LocalDateTime.now().plusDays(3), ReservationStatus.CONFIRMED);
+            LocalDateTime threshold = LocalDateTime.now();
+
+            List<Long> firstChunk = reservationRepository.completeExpiredReservations(threshold, 1);
+            List<Long> secondChunk = reservationRepository.completeExpiredReservations(threshold, 1);
+
+            assertEquals(List.of(first.getId()), firstChunk);
+            assertEquals(List.of(second.getId()), secondChunk);
+            assertTrue(reservationRepository.completeExpiredReservations(threshold, 1).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should cancel only pending reservations that have already started")
+        void shouldCancelStartedPendingReservations() {
+            LocalDateTime past = LocalDateTime.of(2020, 7, 1, 12, 0);
+            Reservation pending = reserve(past, ReservationStatus.PENDING);
+            reserve(past.plusDays(1), ReservationStatus.CONFIRMED);
+            reserve(LocalDateTime.now().plusDays(3), ReservationStatus.PENDING);
+            LocalDateTime threshold = LocalDateTime.now();
+
+            assertEquals(List.of(pending.getId()), reservationRepository.cancelNotConfirmedReservations(threshold, 100));
+            assertTrue(reservationRepository.cancelNotConfirmedReservations(threshold, 100).isEmpty());
+        }
+    }
 }
\ No newline at end of file
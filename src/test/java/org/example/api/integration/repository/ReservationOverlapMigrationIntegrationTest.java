@@ -0,0 +1,104 @@
+package org.example.api.integration.repository;
+
+import org.example.api.model.*;
+import org.example.api.repository.ClientRepository;
+import org.example.api.repository.RestaurantTableRepository;
+import org.example.api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.datasource.init.ScriptException;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Reservation Overlap Migration Integration Tests")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReservationOverlapMigrationIntegrationTest extends BaseIntegrationTest {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO reservations (reservation_period, status, table_id, client_id) VALUES (CAST(? AS tsrange), ?, ?, ?) RETURNING id";
+
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ClientRepository clientRepository;
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+
+    private Long clientId;
+    private Long tableId;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(User.builder()
+                .email("overlap.client" + System.nanoTime() + "@test.pl")
+                .passwordHash("hash")
+                .firstName("Klient")
+                .lastName("Migracji")
+                .phoneNumber("123456789")
+                .role(Role.ROLE_CLIENT)
+                .build());
+        clientRepository.save(Client.builder().user(user).build());
+        clientId = user.getId();
+
+        tableId = tableRepository.save(RestaurantTable.builder()
+                .tableNumber((int) (System.nanoTime() % 10000))
+                .seats(4)
+                .rowPosition(3)
+                .columnPosition(3)
+                .build()).getId();
+    }
+
+    private Long insert(String period, ReservationStatus status) {
+        return jdbcTemplate.queryForObject(INSERT_SQL, Long.class, period, status.name(), tableId, clientId);
+    }
+
+    private String status(Long id) {
+        return jdbcTemplate.queryForObject("SELECT status FROM reservations WHERE id = ?", String.class, id);
+    }
+
+    private void migrate() {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                new ClassPathResource("db/migration/V11__add_reservation_overlap_exclusion_constraint.sql"));
+        populator.setSeparator(ScriptUtils.EOF_STATEMENT_SEPARATOR);
+        populator.execute(dataSource);
+    }
+
+    @Test
+    @DisplayName("Should refuse to add the constraint while active reservations overlap and leave them untouched")
+    void shouldFailOnExistingOverlaps() {
+        Long first = insert("[2030-01-01 18:00, 2030-01-01 20:00)", ReservationStatus.CONFIRMED);
+        Long second = insert("[2030-01-01 19:00, 2030-01-01 21:00)", ReservationStatus.PENDING);
+        Long third = insert("[2030-01-01 20:30, 2030-01-01 22:00)", ReservationStatus.PENDING);
+        Long completed = insert("[2030-01-01 18:30, 2030-01-01 19:30)", ReservationStatus.COMPLETED);
+
+        ScriptException failure = assertThrows(ScriptException.class, this::migrate);
+
+        String message = NestedExceptionUtils.getMostSpecificCause(failure).getMessage();
+        assertTrue(message.contains(first + "/" + second + ", " + second + "/" + third), message);
+        assertEquals(List.of("CONFIRMED", "PENDING", "PENDING", "COMPLETED"),
+                List.of(status(first), status(second), status(third), status(completed)));
+
+        jdbcTemplate.update("UPDATE reservations SET status = 'CANCELLED' WHERE id = ?", second);
+        migrate();
+
+        assertThrows(DataIntegrityViolationException.class,
+                () -> insert("[2030-01-01 19:30, 2030-01-01 20:00)", ReservationStatus.PENDING));
+    }
+}
\ No newline at end of file
@@ -1,13 +1,8 @@
 package org.example.api.integration.repository;
 
 import io.hypersistence.utils.hibernate.type.range.Range;
-import org.example.api.model.Role;
-import org.example.api.model.User;
-import org.example.api.model.Waiter;
-import org.example.api.model.WorkShift;
-import org.example.api.repository.UserRepository;
-import org.example.api.repository.WaiterRepository;
-import org.example.api.repository.WorkShiftRepository;
+import org.example.api.model.*;
+import org.example.api.repository.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -31,6 +26,15 @@ class WorkShiftIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private WorkShiftRepository workShiftRepository;
 
+    @Autowired
+    private ClientRepository clientRepository;
+
+    @Autowired
+    private RestaurantTableRepository tableRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
     private Waiter waiter;
 
     @BeforeEach
@@ -122,4 +126,84 @@ class WorkShiftIntegrationTest extends BaseIntegrationTest {
 
         assertFalse(workShiftRepository.existsById(shift.getId()));
     }
+
+    @Test
+    @DisplayName("Should pick the on-shift waiter with the fewest active reservations")
+    void shouldPickLeastLoadedWaiter() {
+        LocalDateTime shiftStart = LocalDateTime.of(2033, 3, 10, 10, 0);
+        Waiter other = saveWaiter(false);
+        shift(waiter, shiftStart);
+        shift(other, shiftStart);
+
+        reserve(waiter, shiftStart.plusHours(1), ReservationStatus.CONFIRMED);
+        reserve(other, shiftStart.plusHours(1), ReservationStatus.CANCELLED);
+
+        assertEquals(other.getId(), workShiftRepository.findLeastLoadedWaiterId(
+                shiftStart.plusHours(4), shiftStart.plusHours(6), false, false).orElseThrow());
+        assertEquals(waiter.getId(), workShiftRepository.findLeastLoadedWaiterId(
+                shiftStart.plusHours(4), shiftStart.plusHours(6), true, true).orElseThrow());
+    }
+
+    @Test
+    @DisplayName("Should not pick waiters without a covering shift or with an inactive account")
+    void shouldSkipUncoveredAndInactiveWaiters() {
+        LocalDateTime shiftStart = LocalDateTime.of(2033, 4, 10, 10, 0);
+        Waiter inactive = saveWaiter(true);
+        inactive.getUser().setActive(false);
+        userRepository.save(inactive.getUser());
+        shift(inactive, shiftStart);
+        shift(waiter, shiftStart.plusDays(1));
+
+        assertTrue(workShiftRepository.findLeastLoadedWaiterId(
+                shiftStart.plusHours(1), shiftStart.plusHours(3), false, false).isEmpty());
+    }
+
+    private Waiter saveWaiter(boolean speaksEnglish) {
+        User user = userRepository.save(User.builder()
+                .email("shift.waiter" + System.nanoTime() + "@test.pl")
+                .passwordHash("hash")
+                .firstName("Drugi")
+                .lastName("Kelner")
+                .phoneNumber("333444556")
+                .role(Role.ROLE_WAITER)
+                .build());
+
+        return waiterRepository.save(Waiter.builder()
+                .user(user)
+                .hireDate(LocalDate.of(2023, 5, 1))
+                .speaksEnglish(speaksEnglish)
+                .build());
+    }
+
+    private void shift(Waiter shiftWaiter, LocalDateTime start) {
+        workShiftRepository.save(WorkShift.builder()
+                .waiter(shiftWaiter)
+                .shiftPeriod(Range.closedOpen(start, start.plusHours(10)))
+                .build());
+    }
+
+    private void reserve(Waiter assigned, LocalDateTime start, ReservationStatus status) {
+        User clientUser = userRepository.save(User.builder()
+                .email("shift.client" + System.nanoTime() + "@test.pl")
+                .passwordHash("hash")
+                .firstName("Klient")
+                .lastName("Zmiany")
+                .phoneNumber("111222333")
+                .role(Role.ROLE_CLIENT)
+                .build());
+
+        RestaurantTable table = tableRepository.save(RestaurantTable.builder()
+                .seats(4)
+                .rowPosition(1)
+                .columnPosition(1)
+                .build());
+
+        reservationRepository.save(Reservation.builder()
+                .reservationPeriod(Range.closedOpen(start, start.plusHours(2)))
+                .status(status)
+                .restaurantTable(table)
+                .client(clientRepository.save(Client.builder().user(clientUser).build()))
+                .waiter(assigned)
+                .build());
+    }
 }
\ No newline at end of file
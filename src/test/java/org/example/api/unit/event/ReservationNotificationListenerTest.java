@@ -0,0 +1,77 @@
+package org.example.api.unit.event;
+
+import org.example.api.event.ReservationCreatedEvent;
+import org.example.api.event.ReservationStatusChangedEvent;
+import org.example.api.event.ReservationNotificationListener;
+import org.example.api.model.NotificationTemplate;
+import org.example.api.model.ReservationStatus;
+import org.example.api.model.Role;
+import org.example.api.model.User;
+import org.example.api.repository.UserRepository;
+import org.example.api.service.NotificationMessage;
+import org.example.api.service.NotificationService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReservationNotificationListenerTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 5, 10, 18, 0);
+
+    private NotificationService notificationService;
+    private UserRepository userRepository;
+    private ReservationNotificationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = mock(NotificationService.class);
+        userRepository = mock(UserRepository.class);
+        listener = new ReservationNotificationListener(notificationService, userRepository);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<NotificationMessage> sentMessages() {
+        ArgumentCaptor<List<NotificationMessage>> captor = ArgumentCaptor.forClass(List.class);
+        verify(notificationService).send(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Should send all reservation created notifications in one batch and fan out to admins")
+    void shouldBatchCreatedNotifications() {
+        when(userRepository.findById(7L)).thenReturn(Optional.of(User.builder().id(7L).firstName("Jan").build()));
+
+        listener.onReservationCreated(new ReservationCreatedEvent(10L, 3L, "Anna Nowak", START, 7L));
+
+        List<NotificationMessage> messages = sentMessages();
+        assertEquals(List.of(3L, 7L, 3L), messages.stream().map(NotificationMessage::userId).toList());
+        assertEquals(List.of("Jan"), messages.get(2).params());
+        verify(notificationService).notifyRole(Role.ROLE_ADMIN, NotificationTemplate.RESERVATION_CREATED_ADMIN, List.of("Anna Nowak"));
+    }
+
+    @Test
+    @DisplayName("Should notify client and waiter when staff cancels a reservation")
+    void shouldNotifyOnStaffCancellation() {
+        listener.onReservationStatusChanged(new ReservationStatusChangedEvent(
+                10L, 3L, 7L, ReservationStatus.CONFIRMED, ReservationStatus.CANCELLED, START));
+
+        assertEquals(List.of(3L, 7L), sentMessages().stream().map(NotificationMessage::userId).toList());
+    }
+
+    @Test
+    @DisplayName("Should not notify anyone when a reservation is completed")
+    void shouldStayQuietOnCompletion() {
+        listener.onReservationStatusChanged(new ReservationStatusChangedEvent(
+                10L, 3L, 7L, ReservationStatus.CONFIRMED, ReservationStatus.COMPLETED, START));
+
+        assertTrue(sentMessages().isEmpty());
+    }
+}
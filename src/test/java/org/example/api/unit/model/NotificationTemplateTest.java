@@ -0,0 +1,63 @@
+package org.example.api.unit.model;
+
+import org.example.api.model.NotificationTemplate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationTemplateTest {
+
+    @Nested
+    @DisplayName("Rendering Tests")
+    class RenderingTests {
+
+        @Test
+        @DisplayName("Should substitute parameters into title and content")
+        void shouldRenderParameters() {
+            List<String> params = List.of("2030-05-10", "18:00");
+
+            assertEquals("Rezerwacja potwierdzona!", NotificationTemplate.RESERVATION_CONFIRMED.renderTitle(params));
+            assertEquals("Twój stolik czeka. Zapraszamy 2030-05-10 o godzinie 18:00.",
+                    NotificationTemplate.RESERVATION_CONFIRMED.renderContent(params));
+        }
+
+        @Test
+        @DisplayName("Should render custom notifications from their title and content parameters")
+        void shouldRenderCustom() {
+            List<String> params = List.of("Ogłoszenie", "Restauracja jutro nieczynna.");
+
+            assertEquals("Ogłoszenie", NotificationTemplate.CUSTOM.renderTitle(params));
+            assertEquals("Restauracja jutro nieczynna.", NotificationTemplate.CUSTOM.renderContent(params));
+        }
+
+        @Test
+        @DisplayName("Should render missing parameters as empty text")
+        void shouldTolerateMissingParameters() {
+            assertEquals("Zostałeś odsunięty od obsługi rezerwacji stolika nr ",
+                    NotificationTemplate.WAITER_UNASSIGNED.renderContent(List.of()));
+        }
+    }
+
+    @Nested
+    @DisplayName("Code Tests")
+    class CodeTests {
+
+        @Test
+        @DisplayName("Should resolve every template from its unique code")
+        void shouldRoundTripCodes() {
+            Arrays.stream(NotificationTemplate.values())
+                    .forEach(template -> assertEquals(template, NotificationTemplate.fromCode(template.getCode())));
+        }
+
+        @Test
+        @DisplayName("Should reject unknown codes")
+        void shouldRejectUnknownCode() {
+            assertThrows(IllegalArgumentException.class, () -> NotificationTemplate.fromCode((short) 999));
+        }
+    }
+}
\ No newline at end of file
@@ -1,12 +1,14 @@
 package org.example.api.unit.model;
 
 import org.example.api.model.Notification;
+import org.example.api.model.NotificationTemplate;
 import org.example.api.model.User;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -24,15 +26,15 @@ class NotificationTest {
 
             Notification notification = Notification.builder()
                     .id(1L)
-                    .title("Reservation Confirmed")
-                    .content("Your reservation for table 5 has been confirmed.")
+                    .template(NotificationTemplate.RESERVATION_CONFIRMED)
+                    .params(List.of("2024-01-20", "18:00"))
                     .sentAt(sentAt)
                     .user(user)
                     .build();
 
             assertEquals(1L, notification.getId());
-            assertEquals("Reservation Confirmed", notification.getTitle());
-            assertEquals("Your reservation for table 5 has been confirmed.", notification.getContent());
+            assertEquals(NotificationTemplate.RESERVATION_CONFIRMED, notification.getTemplate());
+            assertEquals(List.of("2024-01-20", "18:00"), notification.getParams());
             assertEquals(sentAt, notification.getSentAt());
             assertEquals(user, notification.getUser());
         }
@@ -45,8 +47,8 @@ class NotificationTest {
         @Test
         @DisplayName("Should be equal when ids are the same")
         void shouldBeEqualWhenIdsAreSame() {
-            Notification n1 = Notification.builder().id(1L).title("Title 1").build();
-            Notification n2 = Notification.builder().id(1L).title("Title 2").build();
+            Notification n1 = Notification.builder().id(1L).template(NotificationTemplate.RESERVATION_CONFIRMED).build();
+            Notification n2 = Notification.builder().id(1L).template(NotificationTemplate.WAITER_UNASSIGNED).build();
 
             assertEquals(n1, n2);
         }
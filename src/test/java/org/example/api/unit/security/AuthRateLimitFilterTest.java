@@ -0,0 +1,228 @@
+package org.example.api.unit.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.*;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.example.api.security.AuthRateLimitFilter;
+import org.example.api.security.TokenBucketRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AuthRateLimitFilterTest {
+
+    @Nested
+    @DisplayName("Token Bucket Tests")
+    class TokenBucketTests {
+
+        private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+        @Test
+        @DisplayName("Should allow a burst up to capacity and refill over time")
+        void shouldRefillOverTime() {
+            TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, Duration.ofMinutes(1), 100, 4);
+
+            assertEquals(0, limiter.tryAcquire("k", 0));
+            assertEquals(0, limiter.tryAcquire("k", 0));
+            assertEquals(0, limiter.tryAcquire("k", 0));
+            assertEquals(MINUTE / 3, limiter.tryAcquire("k", 0), 1);
+
+            assertEquals(0, limiter.tryAcquire("k", MINUTE / 3 + 1));
+            assertTrue(limiter.tryAcquire("k", MINUTE / 3 + 1) > 0);
+            assertEquals(0, limiter.tryAcquire("other", 0));
+        }
+
+        @Test
+        @DisplayName("Should keep memory bounded by evicting the least recently used keys")
+        void shouldBoundMemory() {
+            TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(1, Duration.ofHours(1), 8, 4);
+
+            for (int i = 0; i < 1000; i++) {
+                limiter.tryAcquire("key-" + i, 0);
+            }
+
+            assertTrue(limiter.size() <= 8);
+        }
+    }
+
+    @Nested
+    @DisplayName("Filter Tests")
+    class FilterTests {
+
+        private SimpleMeterRegistry meterRegistry;
+        private AuthRateLimitFilter filter;
+
+        @BeforeEach
+        void setUp() {
+            meterRegistry = new SimpleMeterRegistry();
+            filter = new AuthRateLimitFilter(new ObjectMapper(), meterRegistry,
+                    3, Duration.ofHours(1), 2, Duration.ofHours(1), 1000, 4, 8192);
+        }
+
+        private MockHttpServletRequest request(String path, String ip, String body) {
+            MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+            request.setServletPath(path);
+            request.setRemoteAddr(ip);
+            request.setContentType("application/json");
+            request.setContent(body.getBytes(StandardCharsets.UTF_8));
+            return request;
+        }
+
+        private MockHttpServletResponse post(String path, String ip, String body) throws Exception {
+            return post(request(path, ip, body), body, 200);
+        }
+
+        private MockHttpServletResponse post(HttpServletRequest request, String body, int status) throws Exception {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain() {
+                @Override
+                public void doFilter(ServletRequest req, ServletResponse res)
+                        throws IOException, ServletException {
+                    super.doFilter(req, res);
+                    ((HttpServletResponse) res).setStatus(status);
+                }
+            };
+            filter.doFilter(request, response, chain);
+
+            if (chain.getRequest() != null) {
+                assertEquals(body, new String(chain.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            }
+            return response;
+        }
+
+        private HttpServletRequest chunked(HttpServletRequest request) {
+            return new HttpServletRequestWrapper(request) {
+                @Override
+                public int getContentLength() {
+                    return -1;
+                }
+
+                @Override
+                public long getContentLengthLong() {
+                    return -1;
+                }
+            };
+        }
+
+        @Test
+        @DisplayName("Should throttle repeated failed attempts for one e-mail across addresses")
+        void shouldThrottleByEmail() throws Exception {
+            String body = "{\"email\":\"Ofiara@Test.pl\",\"password\":\"x\"}";
+            String lowerCase = body.replace("Ofiara", "ofiara");
+
+            assertEquals(401, post(request("/api/auth/login", "10.0.0.1", body), body, 401).getStatus());
+            assertEquals(401, post(request("/api/auth/login", "10.0.0.2", lowerCase), lowerCase, 401).getStatus());
+
+            MockHttpServletResponse rejected = post("/api/auth/login", "10.0.0.3", body);
+            assertEquals(429, rejected.getStatus());
+            assertNotNull(rejected.getHeader("Retry-After"));
+            assertEquals(1.0, meterRegistry.get("auth.rate-limit.rejected").tag("key", "email").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should throttle one address regardless of the e-mail used")
+        void shouldThrottleByIp() throws Exception {
+            for (int i = 0; i < 3; i++) {
+                assertEquals(200, post("/api/auth/register", "10.0.0.9", "{\"email\":\"u" + i + "@test.pl\"}").getStatus());
+            }
+
+            assertEquals(429, post("/api/auth/forgot-password", "10.0.0.9", "{\"email\":\"nowy@test.pl\"}").getStatus());
+            assertEquals(1.0, meterRegistry.get("auth.rate-limit.rejected").tag("key", "ip").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should not charge the e-mail bucket for successful logins")
+        void shouldNotChargeSuccessfulLogins() throws Exception {
+            String body = "{\"email\":\"klient@test.pl\",\"password\":\"x\"}";
+
+            for (int i = 0; i < 5; i++) {
+                assertEquals(200, post("/api/auth/login", "10.0.1." + i, body).getStatus());
+            }
+        }
+
+        @Test
+        @DisplayName("Should charge the e-mail bucket when the body is sent without a content length")
+        void shouldThrottleChunkedBodies() throws Exception {
+            String body = "{\"email\":\"ofiara@test.pl\"}";
+
+            for (int i = 0; i < 2; i++) {
+                assertEquals(200, post(chunked(request("/api/auth/forgot-password", "10.0.2." + i, body)), body, 200).getStatus());
+            }
+
+            assertEquals(429, post(chunked(request("/api/auth/forgot-password", "10.0.2.9", body)), body, 200).getStatus());
+        }
+
+        @Test
+        @DisplayName("Should reject bodies over the limit and bodies without an e-mail")
+        void shouldRejectOversizedAndMalformedBodies() throws Exception {
+            String oversized = "{\"email\":\"ofiara@test.pl\",\"pad\":\"" + "x".repeat(8192) + "\"}";
+
+            MockHttpServletResponse tooLarge = post(chunked(request("/api/auth/login", "10.0.3.1", oversized)), oversized, 200);
+            assertEquals(413, tooLarge.getStatus());
+            assertTrue(tooLarge.getContentAsString().contains("ERR_PAYLOAD_TOO_LARGE"));
+
+            assertEquals(400, post("/api/auth/login", "10.0.3.2", "email=ofiara@test.pl").getStatus());
+            assertEquals(400, post("/api/auth/register", "10.0.3.3", "{\"password\":\"x\"}").getStatus());
+        }
+
+        @Test
+        @DisplayName("Should replay the cached body to asynchronous readers")
+        void shouldNotifyReadListener() throws Exception {
+            String body = "{\"email\":\"klient@test.pl\"}";
+            ByteArrayOutputStream read = new ByteArrayOutputStream();
+            boolean[] finished = new boolean[1];
+
+            MockFilterChain chain = new MockFilterChain() {
+                @Override
+                public void doFilter(ServletRequest req, ServletResponse res) throws IOException {
+                    ServletInputStream in = req.getInputStream();
+                    in.setReadListener(new ReadListener() {
+                        @Override
+                        public void onDataAvailable() throws IOException {
+                            while (in.isReady() && !in.isFinished()) {
+                                read.write(in.read());
+                            }
+                        }
+
+                        @Override
+                        public void onAllDataRead() {
+                            finished[0] = true;
+                        }
+
+                        @Override
+                        public void onError(Throwable t) {
+                            fail(t);
+                        }
+                    });
+                }
+            };
+            filter.doFilter(request("/api/auth/forgot-password", "10.0.4.1", body), new MockHttpServletResponse(), chain);
+
+            assertEquals(body, read.toString(StandardCharsets.UTF_8));
+            assertTrue(finished[0]);
+        }
+
+        @Test
+        @DisplayName("Should not limit other endpoints")
+        void shouldIgnoreOtherEndpoints() throws Exception {
+            for (int i = 0; i < 10; i++) {
+                assertEquals(200, post("/api/auth/reset-password", "10.0.0.5", "{\"token\":\"t\"}").getStatus());
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,186 @@
+package org.example.api.unit.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.api.exception.PasswordHashingBusyException;
+import org.example.api.model.Role;
+import org.example.api.model.User;
+import org.example.api.repository.UserRepository;
+import org.example.api.security.BCryptStrengthCalibrator;
+import org.example.api.security.BoundedPasswordEncoder;
+import org.example.api.service.CustomUserDetailsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Nested
+    @DisplayName("Execution Tests")
+    class ExecutionTests {
+
+        @Test
+        @DisplayName("Should hash on the dedicated pool and return the delegate's results")
+        void shouldDelegateOnPool() {
+            PasswordEncoder delegate = mock(PasswordEncoder.class);
+            when(delegate.encode("haslo")).thenAnswer(inv -> Thread.currentThread().getName());
+            when(delegate.matches("haslo", "hash")).thenReturn(true);
+            encoder = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+            assertTrue(encoder.encode("haslo").startsWith("password-hash-"));
+            assertTrue(encoder.matches("haslo", "hash"));
+        }
+
+        @Test
+        @DisplayName("Should reject work at once when the pool and queue are full")
+        void shouldRejectWhenSaturated() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            PasswordEncoder delegate = mock(PasswordEncoder.class);
+            when(delegate.encode(any())).thenAnswer(inv -> {
+                release.await(10, TimeUnit.SECONDS);
+                return "hash";
+            });
+            encoder = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofSeconds(10), meterRegistry);
+
+            ExecutorService callers = Executors.newFixedThreadPool(2);
+            Future<String> running = callers.submit(() -> encoder.encode("a"));
+            verify(delegate, timeout(5000)).encode("a");
+            Future<String> queued = callers.submit(() -> encoder.encode("b"));
+            while (meterRegistry.get("security.password.queue.depth").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("c"));
+            assertEquals(1.0, meterRegistry.get("security.password.rejected").counter().count());
+
+            release.countDown();
+            assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+            assertEquals("hash", queued.get(5, TimeUnit.SECONDS));
+            callers.shutdown();
+        }
+
+        @Test
+        @DisplayName("Should give up on work still queued after the maximum wait and drop it from the queue")
+        void shouldGiveUpWhileQueued() throws Exception {
+            CountDownLatch release = new CountDownLatch(1);
+            PasswordEncoder delegate = mock(PasswordEncoder.class);
+            when(delegate.encode(any())).thenAnswer(inv -> {
+                release.await(10, TimeUnit.SECONDS);
+                return "hash";
+            });
+            encoder = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofMillis(50), meterRegistry);
+
+            ExecutorService callers = Executors.newSingleThreadExecutor();
+            Future<String> running = callers.submit(() -> encoder.encode("a"));
+            verify(delegate, timeout(5000)).encode("a");
+
+            assertThrows(PasswordHashingBusyException.class, () -> encoder.encode("b"));
+            assertEquals(0.0, meterRegistry.get("security.password.queue.depth").gauge().value());
+
+            release.countDown();
+            assertEquals("hash", running.get(5, TimeUnit.SECONDS));
+            verify(delegate, never()).encode("b");
+            callers.shutdown();
+        }
+
+        @Test
+        @DisplayName("Should let a hash that already started finish even past the maximum wait")
+        void shouldNotAbandonRunningHash() {
+            PasswordEncoder delegate = mock(PasswordEncoder.class);
+            when(delegate.matches(any(), any())).thenAnswer(inv -> {
+                Thread.sleep(300);
+                return true;
+            });
+            encoder = new BoundedPasswordEncoder(delegate, 1, 1, Duration.ofMillis(50), meterRegistry);
+
+            assertTrue(encoder.matches("haslo", "hash"));
+            assertEquals(0.0, meterRegistry.get("security.password.rejected").counter().count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Upgrade Tests")
+    class UpgradeTests {
+
+        @Test
+        @DisplayName("Should accept legacy hashes and flag them for re-encoding")
+        void shouldUpgradeLegacyHashes() {
+            BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(5);
+            DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+            delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+            encoder = new BoundedPasswordEncoder(delegating, 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+            String legacy = new BCryptPasswordEncoder(4).encode("haslo");
+            String current = encoder.encode("haslo");
+
+            assertTrue(encoder.matches("haslo", legacy));
+            assertTrue(encoder.upgradeEncoding(legacy));
+            assertTrue(current.startsWith("{bcrypt}$2a$05$"));
+            assertTrue(encoder.matches("haslo", current));
+            assertFalse(encoder.upgradeEncoding(current));
+        }
+
+        @Test
+        @DisplayName("Should re-encode a legacy hash on successful login")
+        void shouldRehashLegacyPasswordOnLogin() {
+            BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(5);
+            DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+            delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+            encoder = new BoundedPasswordEncoder(delegating, 1, 1, Duration.ofSeconds(5), meterRegistry);
+
+            User user = User.builder()
+                    .id(1L)
+                    .email("klient@test.pl")
+                    .passwordHash(new BCryptPasswordEncoder(4).encode("haslo"))
+                    .role(Role.ROLE_CLIENT)
+                    .isActive(true)
+                    .build();
+            UserRepository userRepository = mock(UserRepository.class);
+            when(userRepository.findByEmail("klient@test.pl")).thenReturn(Optional.of(user));
+            when(userRepository.save(user)).thenReturn(user);
+
+            CustomUserDetailsService userDetailsService = new CustomUserDetailsService(userRepository);
+            DaoAuthenticationProvider provider = new DaoAuthenticationProvider(userDetailsService);
+            provider.setPasswordEncoder(encoder);
+            provider.setUserDetailsPasswordService(userDetailsService);
+
+            assertTrue(provider.authenticate(
+                    new UsernamePasswordAuthenticationToken("klient@test.pl", "haslo")).isAuthenticated());
+
+            verify(userRepository).save(user);
+            assertTrue(user.getPasswordHash().startsWith("{bcrypt}$2a$05$"));
+            assertTrue(encoder.matches("haslo", user.getPasswordHash()));
+            assertFalse(encoder.upgradeEncoding(user.getPasswordHash()));
+        }
+
+        @Test
+        @DisplayName("Should keep the calibrated strength within the configured bounds")
+        void shouldCalibrateWithinBounds() {
+            assertEquals(4, BCryptStrengthCalibrator.calibrate(Duration.ZERO, 4, 6));
+            assertEquals(6, BCryptStrengthCalibrator.calibrate(Duration.ofHours(1), 4, 6));
+        }
+    }
+}
\ No newline at end of file
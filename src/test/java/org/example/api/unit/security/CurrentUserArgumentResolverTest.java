@@ -0,0 +1,69 @@
+package org.example.api.unit.security;
+
+import org.example.api.model.Role;
+import org.example.api.model.User;
+import org.example.api.security.CurrentUserArgumentResolver;
+import org.example.api.security.JwtPrincipal;
+import org.example.api.security.UserAdapter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AuthenticationCredentialsNotFoundException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CurrentUserArgumentResolverTest {
+
+    private final CurrentUserArgumentResolver resolver = new CurrentUserArgumentResolver();
+    private final NativeWebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest());
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private static void authenticate(Object principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+    }
+
+    @Nested
+    @DisplayName("Resolve Tests")
+    class ResolveTests {
+
+        @Test
+        @DisplayName("Should return the claims principal and reuse it within the request")
+        void shouldReturnClaimsPrincipal() {
+            JwtPrincipal principal = new JwtPrincipal(7L, "klient@test.pl", Role.ROLE_CLIENT);
+            authenticate(principal);
+
+            assertSame(principal, resolver.resolveArgument(null, null, webRequest, null));
+            SecurityContextHolder.clearContext();
+            assertSame(principal, resolver.resolveArgument(null, null, webRequest, null));
+        }
+
+        @Test
+        @DisplayName("Should build a principal from a database-backed user")
+        void shouldAdaptDatabaseUser() {
+            authenticate(new UserAdapter(User.builder().id(3L).email("kelner@test.pl").role(Role.ROLE_WAITER).build()));
+
+            assertEquals(new JwtPrincipal(3L, "kelner@test.pl", Role.ROLE_WAITER),
+                    resolver.resolveArgument(null, null, webRequest, null));
+        }
+
+        @Test
+        @DisplayName("Should reject requests without an authenticated user")
+        void shouldRejectAnonymousRequests() {
+            assertThrows(AuthenticationCredentialsNotFoundException.class,
+                    () -> resolver.resolveArgument(null, null, webRequest, null));
+        }
+    }
+}
\ No newline at end of file
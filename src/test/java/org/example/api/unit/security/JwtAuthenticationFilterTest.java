@@ -0,0 +1,251 @@
+package org.example.api.unit.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.api.event.UserCredentialsChangedEvent;
+import org.example.api.event.UserCredentialsListener;
+import org.example.api.model.Role;
+import org.example.api.model.User;
+import org.example.api.model.Waiter;
+import org.example.api.repository.*;
+import org.example.api.security.JwtAuthenticationFilter;
+import org.example.api.security.JwtPrincipal;
+import org.example.api.security.UserAdapter;
+import org.example.api.service.JwtService;
+import org.example.api.service.UserTokenStateCache;
+import org.example.api.service.WaiterService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGVzdHMtb25seS0zMi1ieXRlcy1sb25nLSEh";
+
+    private UserRepository userRepository;
+    private UserDetailsService userDetailsService;
+    private UserTokenStateCache tokenStateCache;
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        userDetailsService = mock(UserDetailsService.class);
+        tokenStateCache = new UserTokenStateCache(userRepository, new SimpleMeterRegistry(), 100, Duration.ofHours(1));
+        jwtService = new JwtService(SECRET, 60_000);
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, tokenStateCache);
+        ReflectionTestUtils.setField(filter, "claimsPrincipalEnabled", true);
+
+        user = User.builder()
+                .id(7L)
+                .email("kelner@test.pl")
+                .passwordHash("hash")
+                .role(Role.ROLE_WAITER)
+                .tokenVersion(2)
+                .build();
+        when(userRepository.findTokenStateById(7L)).thenAnswer(invocation -> Optional.of(new UserTokenStateView() {
+            @Override
+            public int getTokenVersion() {
+                return user.getTokenVersion();
+            }
+
+            @Override
+            public boolean getActive() {
+                return user.isActive();
+            }
+        }));
+        when(userDetailsService.loadUserByUsername(user.getEmail())).thenAnswer(invocation -> new UserAdapter(user));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private String token(Map<String, Object> claims) {
+        return jwtService.generateToken(new HashMap<>(claims), new UserAdapter(user));
+    }
+
+    private MockHttpServletResponse send(String token, MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/waiter/me");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        SecurityContextHolder.clearContext();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private void assertRejected(MockHttpServletResponse response, MockFilterChain chain, String errorCode) throws Exception {
+        assertEquals(401, response.getStatus());
+        assertTrue(response.getContentAsString().contains("\"error\":\"" + errorCode + "\""));
+        assertNull(chain.getRequest());
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Nested
+    @DisplayName("Principal Resolution Tests")
+    class PrincipalResolutionTests {
+
+        @Test
+        @DisplayName("Should authenticate from claims without loading the user")
+        void shouldAuthenticateFromClaims() throws Exception {
+            MockFilterChain chain = new MockFilterChain();
+
+            MockHttpServletResponse response = send(token(Map.of(
+                    JwtService.ID_CLAIM, 7L, JwtService.ROLE_CLAIM, "ROLE_WAITER", JwtService.VERSION_CLAIM, 2)), chain);
+
+            assertEquals(200, response.getStatus());
+            assertNotNull(chain.getRequest());
+            assertEquals(new JwtPrincipal(7L, "kelner@test.pl", Role.ROLE_WAITER),
+                    SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+            verifyNoInteractions(userDetailsService);
+        }
+
+        @Test
+        @DisplayName("Should reject a token issued before the last credentials change")
+        void shouldRejectOldTokenVersion() throws Exception {
+            MockFilterChain chain = new MockFilterChain();
+
+            MockHttpServletResponse response = send(token(Map.of(
+                    JwtService.ID_CLAIM, 7L, JwtService.ROLE_CLAIM, "ROLE_WAITER", JwtService.VERSION_CLAIM, 1)), chain);
+
+            assertRejected(response, chain, "ERR_TOKEN_REVOKED");
+        }
+
+        @Test
+        @DisplayName("Should reject a deactivated waiter's token once the deletion has committed")
+        void shouldRejectDeactivatedWaiter() throws Exception {
+            WaiterRepository waiterRepository = mock(WaiterRepository.class);
+            WorkShiftRepository workShiftRepository = mock(WorkShiftRepository.class);
+            ReservationRepository reservationRepository = mock(ReservationRepository.class);
+            UserCredentialsListener listener = new UserCredentialsListener(tokenStateCache);
+            WaiterService waiterService = new WaiterService(waiterRepository, userRepository, mock(PasswordEncoder.class),
+                    workShiftRepository, reservationRepository,
+                    event -> listener.onCredentialsChanged((UserCredentialsChangedEvent) event));
+            when(waiterRepository.findById(3L)).thenReturn(Optional.of(Waiter.builder().id(3L).user(user).build()));
+            when(workShiftRepository.existsFutureShifts(anyLong(), any())).thenReturn(false);
+            when(reservationRepository.existsByWaiterIdAndStatusIn(anyLong(), any())).thenReturn(false);
+            String token = token(Map.of(
+                    JwtService.ID_CLAIM, 7L, JwtService.ROLE_CLAIM, "ROLE_WAITER", JwtService.VERSION_CLAIM, 2));
+
+            assertEquals(200, send(token, new MockFilterChain()).getStatus());
+
+            waiterService.delete(3L);
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = send(token, chain);
+
+            assertFalse(user.isActive());
+            assertRejected(response, chain, "ERR_TOKEN_REVOKED");
+        }
+
+        @Test
+        @DisplayName("Should fall back to loading the user when the id or role claim is missing")
+        void shouldFallBackWithoutIdOrRole() throws Exception {
+            for (Map<String, Object> claims : List.<Map<String, Object>>of(
+                    Map.of(JwtService.ROLE_CLAIM, "ROLE_WAITER", JwtService.VERSION_CLAIM, 2),
+                    Map.of(JwtService.ID_CLAIM, 7L, JwtService.VERSION_CLAIM, 2))) {
+                MockFilterChain chain = new MockFilterChain();
+
+                MockHttpServletResponse response = send(token(claims), chain);
+
+                assertEquals(200, response.getStatus());
+                assertNotNull(chain.getRequest());
+                assertInstanceOf(UserAdapter.class, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+            }
+
+            verify(userDetailsService, times(2)).loadUserByUsername("kelner@test.pl");
+            verify(userRepository, never()).findTokenStateById(any());
+        }
+
+        @Test
+        @DisplayName("Should reject an old token version on the fallback path as well")
+        void shouldRejectOldTokenVersionOnFallback() throws Exception {
+            MockFilterChain chain = new MockFilterChain();
+
+            MockHttpServletResponse response = send(token(Map.of(JwtService.VERSION_CLAIM, 1)), chain);
+
+            assertRejected(response, chain, "ERR_TOKEN_REVOKED");
+        }
+
+        @Test
+        @DisplayName("Should reject a token carrying an unknown role")
+        void shouldRejectUnknownRole() throws Exception {
+            MockFilterChain chain = new MockFilterChain();
+
+            MockHttpServletResponse response = send(token(Map.of(
+                    JwtService.ID_CLAIM, 7L, JwtService.ROLE_CLAIM, "ROLE_ROOT", JwtService.VERSION_CLAIM, 2)), chain);
+
+            assertRejected(response, chain, "ERR_TOKEN_INVALID");
+        }
+    }
+
+    @Nested
+    @DisplayName("Token Error Tests")
+    class TokenErrorTests {
+
+        @Test
+        @DisplayName("Should map an expired token to ERR_TOKEN_EXPIRED")
+        void shouldRejectExpiredToken() throws Exception {
+            MockFilterChain chain = new MockFilterChain();
+            String expired = new JwtService(SECRET, -1_000).generateToken(new HashMap<>(Map.of(
+                    JwtService.ID_CLAIM, 7L, JwtService.ROLE_CLAIM, "ROLE_WAITER", JwtService.VERSION_CLAIM, 2)), new UserAdapter(user));
+
+            MockHttpServletResponse response = send(expired, chain);
+
+            assertRejected(response, chain, "ERR_TOKEN_EXPIRED");
+        }
+
+        @Test
+        @DisplayName("Should map a tampered token to ERR_TOKEN_INVALID")
+        void shouldRejectTamperedToken() throws Exception {
+            MockFilterChain chain = new MockFilterChain();
+            String token = token(Map.of(JwtService.ID_CLAIM, 7L, JwtService.ROLE_CLAIM, "ROLE_WAITER", JwtService.VERSION_CLAIM, 2));
+            int signature = token.lastIndexOf('.') + 1;
+            String tampered = token.substring(0, signature) + (token.charAt(signature) == 'A' ? 'B' : 'A')
+                    + token.substring(signature + 1);
+
+            MockHttpServletResponse response = send(tampered, chain);
+
+            assertRejected(response, chain, "ERR_TOKEN_INVALID");
+        }
+
+        @Test
+        @DisplayName("Should map a token without an expiration date to ERR_TOKEN_INVALID")
+        void shouldRejectTokenWithoutExpiration() throws Exception {
+            MockFilterChain chain = new MockFilterChain();
+            String token = Jwts.builder()
+                    .claims(Map.of(JwtService.ID_CLAIM, 7L, JwtService.ROLE_CLAIM, "ROLE_WAITER", JwtService.VERSION_CLAIM, 2))
+                    .subject(user.getEmail())
+                    .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), Jwts.SIG.HS256)
+                    .compact();
+
+            MockHttpServletResponse response = send(token, chain);
+
+            assertRejected(response, chain, "ERR_TOKEN_INVALID");
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,106 @@
+package org.example.api.unit.service;
+
+import org.example.api.dto.ChangePasswordRequest;
+import org.example.api.dto.ResetPasswordRequest;
+import org.example.api.exception.ChangePasswordOldPasswordWrongException;
+import org.example.api.exception.InvalidTokenException;
+import org.example.api.exception.TokenExpiredException;
+import org.example.api.model.PasswordResetToken;
+import org.example.api.model.User;
+import org.example.api.repository.ActivationTokenRepository;
+import org.example.api.repository.ClientRepository;
+import org.example.api.repository.PasswordResetTokenRepository;
+import org.example.api.repository.UserRepository;
+import org.example.api.service.AuthService;
+import org.example.api.service.JwtService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class AuthServiceTest {
+
+    private UserRepository userRepository;
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+    private PasswordEncoder passwordEncoder;
+    private AuthService self;
+    private AuthService authService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        passwordResetTokenRepository = mock(PasswordResetTokenRepository.class);
+        passwordEncoder = mock(PasswordEncoder.class);
+        self = mock(AuthService.class);
+        authService = new AuthService(userRepository, mock(ClientRepository.class), mock(ActivationTokenRepository.class),
+                passwordEncoder, mock(JwtService.class), mock(AuthenticationManager.class),
+                mock(ApplicationEventPublisher.class), passwordResetTokenRepository);
+        authService.setSelf(self);
+    }
+
+    private static PasswordResetToken resetToken(LocalDateTime expiresAt) {
+        PasswordResetToken token = new PasswordResetToken();
+        token.setToken("token");
+        token.setExpiresAt(expiresAt);
+        return token;
+    }
+
+    @Nested
+    @DisplayName("Password Hashing Tests")
+    class PasswordHashingTests {
+
+        @Test
+        @DisplayName("Should not hash the new password for an unknown or expired reset token")
+        void shouldNotHashForInvalidResetToken() {
+            when(passwordResetTokenRepository.findByToken("unknown")).thenReturn(Optional.empty());
+            when(passwordResetTokenRepository.findByToken("expired"))
+                    .thenReturn(Optional.of(resetToken(LocalDateTime.now().minusMinutes(1))));
+
+            assertThrows(InvalidTokenException.class,
+                    () -> authService.resetPassword(new ResetPasswordRequest("unknown", "NoweHaslo123!")));
+            assertThrows(TokenExpiredException.class,
+                    () -> authService.resetPassword(new ResetPasswordRequest("expired", "NoweHaslo123!")));
+
+            verify(passwordEncoder, never()).encode(any());
+            verifyNoInteractions(self);
+        }
+
+        @Test
+        @DisplayName("Should hash the new password only after the reset token was validated")
+        void shouldHashAfterValidResetToken() {
+            ResetPasswordRequest request = new ResetPasswordRequest("token", "NoweHaslo123!");
+            when(passwordResetTokenRepository.findByToken("token"))
+                    .thenReturn(Optional.of(resetToken(LocalDateTime.now().plusMinutes(10))));
+            when(passwordEncoder.encode("NoweHaslo123!")).thenReturn("{bcrypt}hash");
+
+            authService.resetPassword(request);
+
+            verify(self).resetPassword(request, "{bcrypt}hash");
+        }
+
+        @Test
+        @DisplayName("Should not hash the new password when the old password is wrong")
+        void shouldNotHashForWrongOldPassword() {
+            when(userRepository.findByEmail("klient@test.pl"))
+                    .thenReturn(Optional.of(User.builder().email("klient@test.pl").passwordHash("{bcrypt}old").build()));
+            when(passwordEncoder.matches("zleHaslo", "{bcrypt}old")).thenReturn(false);
+
+            assertThrows(ChangePasswordOldPasswordWrongException.class,
+                    () -> authService.changePassword("klient@test.pl", new ChangePasswordRequest("zleHaslo", "NoweHaslo123!")));
+
+            verify(passwordEncoder, never()).encode(anyString());
+            verifyNoInteractions(self);
+        }
+    }
+}
\ No newline at end of file
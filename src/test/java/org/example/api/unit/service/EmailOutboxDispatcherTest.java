@@ -0,0 +1,159 @@
+package org.example.api.unit.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.example.api.model.EmailOutboxMessage;
+import org.example.api.model.EmailOutboxStatus;
+import org.example.api.repository.EmailOutboxRepository;
+import org.example.api.service.ClusterJobCoordinator;
+import org.example.api.service.EmailOutboxDispatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private EmailOutboxRepository outboxRepository;
+    private ClusterJobCoordinator jobCoordinator;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        outboxRepository = mock(EmailOutboxRepository.class);
+        jobCoordinator = mock(ClusterJobCoordinator.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        when(jobCoordinator.runExclusively(anyString(), any())).thenAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return true;
+        });
+        when(outboxRepository.findOldestPendingCreatedAt()).thenReturn(Optional.empty());
+    }
+
+    private EmailOutboxDispatcher dispatcher(int port, int batchSize, int maxPerMinute, int maxAttempts) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+
+        EmailOutboxDispatcher dispatcher = new EmailOutboxDispatcher(outboxRepository, mailSender, jobCoordinator,
+                meterRegistry, batchSize, maxPerMinute, maxAttempts, Duration.ofSeconds(30), Duration.ofMinutes(5),
+                Duration.ofMinutes(10));
+        dispatcher.setSelf(dispatcher);
+        return dispatcher;
+    }
+
+    private static EmailOutboxMessage message(int i) {
+        LocalDateTime now = LocalDateTime.now();
+        return EmailOutboxMessage.builder()
+                .id((long) i)
+                .recipient("user" + i + "@test.pl")
+                .subject("Temat " + i)
+                .body("<p>Treść</p>")
+                .createdAt(now)
+                .nextAttemptAt(now)
+                .build();
+    }
+
+    @Nested
+    @DisplayName("Delivery Tests")
+    class DeliveryTests {
+
+        @Test
+        @DisplayName("Should deliver a batch over one SMTP session and remove sent messages")
+        void shouldDeliverAndRemove() {
+            List<EmailOutboxMessage> due = List.of(message(1), message(2));
+            when(outboxRepository.lockDue(any(), eq(10))).thenReturn(due);
+
+            dispatcher(greenMail.getSmtp().getPort(), 10, 100, 3).dispatch();
+
+            MimeMessage[] received = greenMail.getReceivedMessages();
+            assertEquals(2, received.length);
+            verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+            assertEquals(2.0, meterRegistry.get("email.outbox.sent").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should stop picking messages once the per-minute cap is reached")
+        void shouldRespectRateCap() {
+            when(outboxRepository.lockDue(any(), anyInt())).thenAnswer(invocation ->
+                    IntStream.range(0, invocation.<Integer>getArgument(1)).mapToObj(EmailOutboxDispatcherTest::message).toList());
+            EmailOutboxDispatcher dispatcher = dispatcher(greenMail.getSmtp().getPort(), 2, 3, 3);
+
+            dispatcher.dispatch();
+            dispatcher.dispatch();
+
+            verify(outboxRepository).lockDue(any(), eq(2));
+            verify(outboxRepository).lockDue(any(), eq(1));
+            verify(outboxRepository, times(2)).lockDue(any(), anyInt());
+            assertEquals(3, greenMail.getReceivedMessages().length);
+        }
+    }
+
+    @Nested
+    @DisplayName("Claim Tests")
+    class ClaimTests {
+
+        @Test
+        @DisplayName("Should lease claimed messages so they are not due again while being sent")
+        void shouldLeaseClaimedMessages() {
+            EmailOutboxMessage pending = message(1);
+            when(outboxRepository.lockDue(any(), anyInt())).thenReturn(List.of(pending));
+
+            LocalDateTime before = LocalDateTime.now();
+            dispatcher(greenMail.getSmtp().getPort(), 10, 100, 3).claim(10);
+
+            assertFalse(pending.getNextAttemptAt().isBefore(before.plusMinutes(10)));
+            assertEquals(0, pending.getAttempts());
+            verifyNoMoreInteractions(ignoreStubs(outboxRepository));
+        }
+    }
+
+    @Nested
+    @DisplayName("Retry Tests")
+    class RetryTests {
+
+        @Test
+        @DisplayName("Should back off exponentially and give up after the last attempt")
+        void shouldBackOffAndGiveUp() {
+            EmailOutboxMessage pending = message(1);
+            when(outboxRepository.lockDue(any(), anyInt())).thenReturn(List.of(pending));
+            EmailOutboxDispatcher dispatcher = dispatcher(greenMail.getSmtp().getPort() + 1, 10, 100, 3);
+
+            LocalDateTime before = LocalDateTime.now();
+            dispatcher.dispatchBatch(10);
+            assertEquals(1, pending.getAttempts());
+            assertFalse(pending.getNextAttemptAt().isBefore(before.plusSeconds(30)));
+
+            dispatcher.dispatchBatch(10);
+            assertEquals(2, pending.getAttempts());
+            assertFalse(pending.getNextAttemptAt().isBefore(before.plusSeconds(60)));
+            assertEquals(EmailOutboxStatus.PENDING, pending.getStatus());
+
+            dispatcher.dispatchBatch(10);
+            assertEquals(EmailOutboxStatus.FAILED, pending.getStatus());
+            assertNotNull(pending.getLastError());
+            verify(outboxRepository, never()).deleteAllByIdInBatch(any());
+            verify(outboxRepository, times(3)).saveAll(Set.of(pending));
+            assertEquals(1.0, meterRegistry.get("email.outbox.failures").tag("outcome", "abandoned").counter().count());
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,55 @@
+package org.example.api.unit.service;
+
+import org.example.api.service.EmailTemplate;
+import org.example.api.service.EmailTemplateRenderer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplateRendererTest {
+
+    private final EmailTemplateRenderer renderer = new EmailTemplateRenderer();
+
+    @Nested
+    @DisplayName("Render Tests")
+    class RenderTests {
+
+        @Test
+        @DisplayName("Should fill every slot of the activation template")
+        void shouldFillSlots() {
+            String html = renderer.render(EmailTemplate.ACTIVATION, "Anna", "https://app.test/activate?token=abc");
+
+            assertTrue(html.contains("<h1>Witaj Anna!</h1>"));
+            assertTrue(html.contains("<a href=\"https://app.test/activate?token=abc\">AKTYWUJ KONTO</a>"));
+            assertFalse(html.contains("{{"));
+        }
+
+        @Test
+        @DisplayName("Should escape HTML in slot values")
+        void shouldEscapeValues() {
+            String html = renderer.render(EmailTemplate.ACTIVATION, "<b>\"Ola\" & 'Ela'</b>", "https://app.test/?a=1&b=2");
+
+            assertTrue(html.contains("Witaj &lt;b&gt;&quot;Ola&quot; &amp; &#39;Ela&#39;&lt;/b&gt;!"));
+            assertTrue(html.contains("href=\"https://app.test/?a=1&amp;b=2\""));
+        }
+
+        @Test
+        @DisplayName("Should not leak values between renders that reuse the buffer")
+        void shouldResetBufferBetweenRenders() {
+            renderer.render(EmailTemplate.ACTIVATION, "Pierwszy", "https://app.test/1");
+            String html = renderer.render(EmailTemplate.PASSWORD_RESET, "https://app.test/reset");
+
+            assertFalse(html.contains("Pierwszy"));
+            assertTrue(html.startsWith("<html>"));
+            assertTrue(html.contains("href=\"https://app.test/reset\""));
+        }
+
+        @Test
+        @DisplayName("Should reject a call with the wrong number of values")
+        void shouldRejectWrongArity() {
+            assertThrows(IllegalArgumentException.class, () -> renderer.render(EmailTemplate.PASSWORD_RESET));
+        }
+    }
+}
\ No newline at end of file
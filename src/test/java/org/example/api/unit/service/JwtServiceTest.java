@@ -0,0 +1,92 @@
+package org.example.api.unit.service;
+
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.example.api.model.Role;
+import org.example.api.model.User;
+import org.example.api.security.UserAdapter;
+import org.example.api.service.JwtClaims;
+import org.example.api.service.JwtService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+
+    private static final String SECRET = "c2VjcmV0LWtleS1mb3ItdGVzdHMtb25seS0zMi1ieXRlcy1sb25nLSEh";
+    private static final String OTHER_SECRET = "YW5vdGhlci1zZWNyZXQta2V5LWZvci10ZXN0cy0zMi1ieXRlcy1sb25n";
+
+    private final JwtService jwtService = new JwtService(SECRET, 60_000);
+    private final UserAdapter user = new UserAdapter(User.builder()
+            .id(7L)
+            .email("klient@test.pl")
+            .role(Role.ROLE_CLIENT)
+            .build());
+
+    private String token() {
+        return jwtService.generateToken(new HashMap<>(Map.of(
+                JwtService.ID_CLAIM, 7L, JwtService.ROLE_CLAIM, "ROLE_CLIENT", JwtService.VERSION_CLAIM, 3)), user);
+    }
+
+    @Nested
+    @DisplayName("Parse Token Tests")
+    class ParseTokenTests {
+
+        @Test
+        @DisplayName("Should return all claims of a valid token in one parse")
+        void shouldParseValidToken() {
+            JwtClaims claims = jwtService.parseToken(token());
+
+            assertEquals("klient@test.pl", claims.subject());
+            assertEquals(7L, claims.userId());
+            assertEquals("ROLE_CLIENT", claims.role());
+            assertEquals(3, claims.tokenVersion());
+            assertNotNull(claims.expiresAt());
+            assertTrue(jwtService.isTokenValid(claims, user));
+        }
+
+        @Test
+        @DisplayName("Should reject a token whose payload or signature was tampered with")
+        void shouldRejectTamperedToken() {
+            String[] parts = token().split("\\.");
+            String forgedPayload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                    new String(Base64.getUrlDecoder().decode(parts[1])).replace("ROLE_CLIENT", "ROLE_ADMIN").getBytes());
+            String forgedSignature = (parts[2].charAt(0) == 'A' ? 'B' : 'A') + parts[2].substring(1);
+
+            assertThrows(JwtException.class, () -> jwtService.parseToken(parts[0] + "." + forgedPayload + "." + parts[2]));
+            assertThrows(JwtException.class, () -> jwtService.parseToken(parts[0] + "." + parts[1] + "." + forgedSignature));
+            assertThrows(JwtException.class, () -> jwtService.parseToken(new JwtService(OTHER_SECRET, 60_000).generateToken(user)));
+        }
+
+        @Test
+        @DisplayName("Should reject an expired token")
+        void shouldRejectExpiredToken() {
+            String expired = new JwtService(SECRET, -1_000).generateToken(user);
+
+            assertThrows(ExpiredJwtException.class, () -> jwtService.parseToken(expired));
+        }
+
+        @Test
+        @DisplayName("Should reject a token without an expiration date")
+        void shouldRejectTokenWithoutExpiration() {
+            String token = Jwts.builder()
+                    .claims(Map.of(JwtService.ID_CLAIM, 7L, JwtService.ROLE_CLAIM, "ROLE_CLIENT"))
+                    .subject("klient@test.pl")
+                    .issuedAt(new Date())
+                    .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), Jwts.SIG.HS256)
+                    .compact();
+
+            assertThrows(JwtException.class, () -> jwtService.parseToken(token));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,216 @@
+package org.example.api.unit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.api.dto.NotificationResponse;
+import org.example.api.model.NotificationTemplate;
+import org.example.api.service.NotificationMessage;
+import org.example.api.service.NotificationSink;
+import org.example.api.service.NotificationStreamRelay;
+import org.example.api.service.UnreadNotificationCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationSinkTest {
+
+    @TempDir
+    Path tempDir;
+
+    private JdbcTemplate jdbcTemplate;
+    private NotificationStreamRelay streams;
+    private SimpleMeterRegistry meterRegistry;
+    private Path spoolFile;
+    private Path deadLetterFile;
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        streams = mock(NotificationStreamRelay.class);
+        allocateIds();
+        meterRegistry = new SimpleMeterRegistry();
+        spoolFile = tempDir.resolve("spool.jsonl");
+        deadLetterFile = tempDir.resolve("dead-letter.jsonl");
+    }
+
+    private NotificationSink sink(int batchSize, long flushIntervalMillis) {
+        return new NotificationSink(jdbcTemplate, mock(PlatformTransactionManager.class), new ObjectMapper().findAndRegisterModules(),
+                mock(UnreadNotificationCounter.class), streams, meterRegistry,
+                1000, batchSize, flushIntervalMillis, spoolFile, deadLetterFile);
+    }
+
+    private void allocateIds() {
+        AtomicLong sequence = new AtomicLong();
+        when(jdbcTemplate.queryForList(anyString(), eq(Long.class), anyInt())).thenAnswer(invocation -> {
+            int count = invocation.getArgument(2);
+            return LongStream.range(0, count).mapToObj(i -> sequence.incrementAndGet()).toList();
+        });
+    }
+
+    private void recordBatches() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+            List<?> args = invocation.getArgument(1);
+            batchSizes.add(args.size());
+            return new int[args.size()];
+        });
+    }
+
+    private static List<NotificationMessage> messages(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> NotificationMessage.of(id, NotificationTemplate.CUSTOM, "Tytuł", "Treść"))
+                .toList();
+    }
+
+    @Nested
+    @DisplayName("Flush Tests")
+    class FlushTests {
+
+        @Test
+        @DisplayName("Should flush queued notifications in batches no larger than the batch size")
+        void shouldFlushInBatches() {
+            recordBatches();
+            NotificationSink sink = sink(10, 60_000);
+            sink.start();
+
+            sink.submit(messages(25));
+            sink.stop();
+
+            assertEquals(25, batchSizes.stream().mapToInt(Integer::intValue).sum());
+            assertTrue(batchSizes.stream().allMatch(size -> size <= 10));
+        }
+
+        @Test
+        @DisplayName("Should flush a partial batch once the flush interval elapses")
+        void shouldFlushAfterInterval() throws InterruptedException {
+            recordBatches();
+            NotificationSink sink = sink(100, 20);
+            sink.start();
+
+            sink.submit(messages(3));
+            for (int i = 0; i < 100 && batchSizes.isEmpty(); i++) {
+                Thread.sleep(10);
+            }
+            sink.stop();
+
+            assertEquals(List.of(3), batchSizes);
+            assertEquals(1, meterRegistry.get("notifications.sink.flush").timer().count());
+        }
+    }
+
+    @Nested
+    @DisplayName("Stream Tests")
+    class StreamTests {
+
+        @Test
+        @DisplayName("Should publish stored notifications with their allocated ids grouped by user")
+        @SuppressWarnings("unchecked")
+        void shouldPublishStoredNotifications() {
+            recordBatches();
+            NotificationSink sink = sink(10, 60_000);
+
+            sink.submit(List.of(
+                    NotificationMessage.of(7L, NotificationTemplate.CUSTOM, "Pierwsze", "Treść"),
+                    NotificationMessage.of(8L, NotificationTemplate.CUSTOM, "Drugie", "Treść"),
+                    NotificationMessage.of(7L, NotificationTemplate.CUSTOM, "Trzecie", "Treść")));
+
+            ArgumentCaptor<Map<Long, List<NotificationResponse>>> published = ArgumentCaptor.forClass(Map.class);
+            verify(streams).publish(published.capture());
+
+            assertEquals(List.of(1L, 3L), published.getValue().get(7L).stream().map(NotificationResponse::id).toList());
+            assertEquals(List.of("Drugie"), published.getValue().get(8L).stream().map(NotificationResponse::title).toList());
+        }
+
+        @Test
+        @DisplayName("Should not publish a batch that failed to insert")
+        void shouldNotPublishFailedBatch() {
+            when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                    .thenThrow(new DataAccessResourceFailureException("down"));
+
+            sink(10, 60_000).submit(messages(2));
+
+            verifyNoInteractions(streams);
+        }
+    }
+
+    @Nested
+    @DisplayName("Fallback Tests")
+    class FallbackTests {
+
+        @Test
+        @DisplayName("Should spool a failed batch and replay it once the database is back")
+        void shouldSpoolAndReplay() {
+            when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                    .thenThrow(new DataAccessResourceFailureException("down"));
+            NotificationSink failing = sink(10, 60_000);
+
+            failing.submit(messages(4));
+
+            assertTrue(Files.exists(spoolFile));
+            assertEquals(4.0, meterRegistry.get("notifications.sink.spooled").counter().count());
+
+            reset(jdbcTemplate);
+            allocateIds();
+            recordBatches();
+            NotificationSink recovered = sink(10, 60_000);
+            recovered.start();
+            recovered.stop();
+
+            assertEquals(List.of(4), batchSizes);
+            assertFalse(Files.exists(spoolFile));
+        }
+
+        @Test
+        @DisplayName("Should store the valid rows one by one and dead-letter the rejected ones")
+        void shouldDeadLetterRejectedRows() throws Exception {
+            when(jdbcTemplate.batchUpdate(anyString(), anyList())).thenAnswer(invocation -> {
+                List<Object[]> rows = invocation.getArgument(1);
+                if (rows.size() > 1 || rows.getFirst()[1].equals(2L)) {
+                    throw new DataIntegrityViolationException("fk_notifications_user");
+                }
+                batchSizes.add(rows.size());
+                return new int[rows.size()];
+            });
+
+            sink(10, 60_000).submit(messages(3));
+
+            assertEquals(List.of(1, 1), batchSizes);
+            assertFalse(Files.exists(spoolFile));
+            assertEquals(1, Files.readAllLines(deadLetterFile).size());
+            assertEquals(1.0, meterRegistry.get("notifications.sink.dead-lettered").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should spool the rest of a batch when the database goes away during the row-by-row retry")
+        void shouldSpoolRemainderOnTransientFailure() throws Exception {
+            when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                    .thenThrow(new DataIntegrityViolationException("fk_notifications_user"))
+                    .thenReturn(new int[1])
+                    .thenThrow(new DataAccessResourceFailureException("down"));
+
+            sink(10, 60_000).submit(messages(3));
+
+            assertEquals(2, Files.readAllLines(spoolFile).size());
+            assertFalse(Files.exists(deadLetterFile));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.api.unit.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.api.dto.NotificationResponse;
+import org.example.api.model.NotificationTemplate;
+import org.example.api.repository.NotificationFeedRow;
+import org.example.api.repository.NotificationRepository;
+import org.example.api.service.NotificationStreamRegistry;
+import org.example.api.service.NotificationStreamRelay;
+import org.example.api.service.UnreadNotificationCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class NotificationStreamRelayTest {
+
+    private final List<String> payloads = new CopyOnWriteArrayList<>();
+    private NotificationRepository notificationRepository;
+    private NotificationStreamRegistry localStreams;
+    private NotificationStreamRegistry remoteStreams;
+    private UnreadNotificationCounter remoteCounter;
+    private NotificationStreamRelay local;
+    private NotificationStreamRelay remote;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        localStreams = mock(NotificationStreamRegistry.class);
+        remoteStreams = mock(NotificationStreamRegistry.class);
+        remoteCounter = mock(UnreadNotificationCounter.class);
+
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.query(anyString(), any(ResultSetExtractor.class), eq(NotificationStreamRelay.CHANNEL), anyString()))
+                .thenAnswer(invocation -> {
+                    payloads.add(invocation.getArgument(3));
+                    return null;
+                });
+
+        local = relay(jdbcTemplate, localStreams, mock(UnreadNotificationCounter.class));
+        remote = relay(jdbcTemplate, remoteStreams, remoteCounter);
+    }
+
+    private NotificationStreamRelay relay(JdbcTemplate jdbcTemplate, NotificationStreamRegistry streams,
+                                          UnreadNotificationCounter counter) {
+        return new NotificationStreamRelay(mock(DataSource.class), jdbcTemplate, new ObjectMapper(), notificationRepository,
+                streams, counter, new SimpleMeterRegistry(), true, Duration.ofSeconds(1), Duration.ofSeconds(1));
+    }
+
+    private static NotificationResponse response(long id) {
+        return new NotificationResponse(id, "Tytuł", "Treść", LocalDateTime.now(), false);
+    }
+
+    @Nested
+    @DisplayName("Relay Tests")
+    class RelayTests {
+
+        @Test
+        @DisplayName("Should deliver notifications stored on another node to locally connected users")
+        @SuppressWarnings("unchecked")
+        void shouldDeliverToLocallyConnectedUsers() {
+            when(remoteStreams.isConnected(7L)).thenReturn(true);
+            when(notificationRepository.findFeedRowsByIds(Set.of(10L))).thenReturn(List.of(new NotificationFeedRow(
+                    10L, NotificationTemplate.CUSTOM, List.of("Tytuł", "Treść"), null, null, LocalDateTime.now(), false)));
+            Map<Long, List<NotificationResponse>> stored = Map.of(7L, List.of(response(10)), 8L, List.of(response(11)));
+
+            local.publish(stored);
+            payloads.forEach(local::receive);
+            payloads.forEach(remote::receive);
+
+            verify(localStreams).publish(stored);
+            verify(localStreams, never()).unreadCountChanged(any());
+            ArgumentCaptor<Map<Long, List<NotificationResponse>>> delivered = ArgumentCaptor.forClass(Map.class);
+            verify(remoteStreams).publish(delivered.capture());
+            assertEquals(Set.of(7L), delivered.getValue().keySet());
+            assertEquals("Tytuł", delivered.getValue().get(7L).getFirst().title());
+            verify(remoteCounter).evict(7L);
+            verify(remoteCounter).evict(8L);
+        }
+
+        @Test
+        @DisplayName("Should refresh the unread count of a user who read notifications on another node")
+        void shouldRelayUnreadCountChanges() {
+            local.unreadCountChanged(7L);
+            payloads.forEach(remote::receive);
+
+            verify(localStreams).unreadCountChanged(7L);
+            verify(remoteCounter).evict(7L);
+            verify(remoteStreams).unreadCountChanged(7L);
+            verifyNoInteractions(notificationRepository);
+        }
+
+        @Test
+        @DisplayName("Should split a large fan-out into payloads Postgres accepts")
+        void shouldSplitLargeFanOut() {
+            Map<Long, List<NotificationResponse>> stored = LongStream.rangeClosed(1, 2000).boxed()
+                    .collect(Collectors.toMap(userId -> userId, userId -> List.of(response(1_000_000_000_000L + userId))));
+
+            local.publish(stored);
+            payloads.forEach(remote::receive);
+
+            assertTrue(payloads.size() > 1);
+            assertTrue(payloads.stream().allMatch(p -> p.getBytes(StandardCharsets.UTF_8).length < 8000));
+            LongStream.rangeClosed(1, 2000).forEach(userId -> verify(remoteCounter).evict(userId));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,157 @@
+package org.example.api.unit.service;
+
+import io.hypersistence.utils.hibernate.type.range.Range;
+import org.example.api.model.Reservation;
+import org.example.api.model.ReservationStatus;
+import org.example.api.model.RestaurantTable;
+import org.example.api.service.TableOccupancyIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableOccupancyIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 5, 10);
+
+    private TableOccupancyIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new TableOccupancyIndex();
+        index.beginReload();
+        index.completeReload(DAY, List.of());
+    }
+
+    private static LocalDateTime at(int hour, int minute) {
+        return DAY.atTime(hour, minute);
+    }
+
+    @Nested
+    @DisplayName("Coverage Tests")
+    class CoverageTests {
+
+        @Test
+        @DisplayName("Should not cover queries before the index is loaded")
+        void shouldNotCoverBeforeLoad() {
+            TableOccupancyIndex empty = new TableOccupancyIndex();
+
+            assertFalse(empty.covers(at(18, 0), at(20, 0)));
+        }
+
+        @Test
+        @DisplayName("Should cover slot-aligned queries inside opening hours")
+        void shouldCoverAlignedQueries() {
+            assertTrue(index.covers(at(10, 0), at(22, 0)));
+            assertTrue(index.covers(at(18, 15), at(19, 45)));
+        }
+
+        @Test
+        @DisplayName("Should not cover unaligned, out-of-hours or past queries")
+        void shouldNotCoverOtherQueries() {
+            assertFalse(index.covers(at(18, 10), at(20, 0)));
+            assertFalse(index.covers(at(9, 0), at(11, 0)));
+            assertFalse(index.covers(at(21, 0), DAY.plusDays(1).atTime(1, 0)));
+            assertFalse(index.covers(DAY.minusDays(1).atTime(18, 0), DAY.minusDays(1).atTime(20, 0)));
+        }
+
+        @Test
+        @DisplayName("Should stop covering a day holding an unaligned reservation")
+        void shouldNotCoverDayWithUnalignedReservation() {
+            index.put(1L, 5L, at(18, 10), at(20, 0));
+
+            assertFalse(index.covers(at(12, 0), at(13, 0)));
+            assertTrue(index.covers(DAY.plusDays(1).atTime(12, 0), DAY.plusDays(1).atTime(13, 0)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Occupancy Tests")
+    class OccupancyTests {
+
+        @Test
+        @DisplayName("Should treat closed-open periods like tsrange overlap")
+        void shouldMatchRangeOverlapSemantics() {
+            index.put(1L, 5L, at(18, 0), at(20, 0));
+
+            assertTrue(index.isOccupied(5L, at(19, 45), at(21, 0)));
+            assertTrue(index.isOccupied(5L, at(17, 0), at(18, 15)));
+            assertFalse(index.isOccupied(5L, at(20, 0), at(22, 0)));
+            assertFalse(index.isOccupied(5L, at(16, 0), at(18, 0)));
+            assertFalse(index.isOccupied(6L, at(18, 0), at(20, 0)));
+        }
+
+        @Test
+        @DisplayName("Should list occupied tables for a window")
+        void shouldListOccupiedTables() {
+            index.put(1L, 5L, at(18, 0), at(20, 0));
+            index.put(2L, 3L, at(12, 0), at(13, 0));
+            index.put(3L, 7L, at(19, 0), at(21, 0));
+
+            assertArrayEquals(new long[]{5L, 7L}, index.getOccupiedTableIds(at(19, 0), at(19, 30)));
+            assertArrayEquals(new long[]{3L}, index.getOccupiedTableIds(at(10, 0), at(13, 0)));
+            assertArrayEquals(new long[0], index.getOccupiedTableIds(at(14, 0), at(15, 0)));
+        }
+
+        @Test
+        @DisplayName("Should keep neighbouring reservation when one is removed")
+        void shouldKeepNeighbourOnRemoval() {
+            index.put(1L, 5L, at(16, 0), at(18, 0));
+            index.put(2L, 5L, at(18, 0), at(20, 0));
+
+            index.remove(1L);
+
+            assertFalse(index.isOccupied(5L, at(16, 0), at(18, 0)));
+            assertTrue(index.isOccupied(5L, at(18, 0), at(18, 15)));
+        }
+
+        @Test
+        @DisplayName("Should drop reservation once it is no longer active")
+        void shouldForgetInactiveReservation() {
+            RestaurantTable table = RestaurantTable.builder().id(5L).build();
+            Reservation reservation = Reservation.builder()
+                    .id(1L)
+                    .restaurantTable(table)
+                    .reservationPeriod(Range.closedOpen(at(18, 0), at(20, 0)))
+                    .status(ReservationStatus.PENDING)
+                    .build();
+
+            index.record(reservation);
+            assertTrue(index.isOccupied(5L, at(18, 0), at(20, 0)));
+
+            reservation.setStatus(ReservationStatus.CANCELLED);
+            index.record(reservation);
+            assertFalse(index.isOccupied(5L, at(18, 0), at(20, 0)));
+        }
+    }
+
+    @Nested
+    @DisplayName("Reload Tests")
+    class ReloadTests {
+
+        @Test
+        @DisplayName("Should replay changes made while a reload was in flight")
+        void shouldReplayChangesDuringReload() {
+            index.put(1L, 5L, at(18, 0), at(20, 0));
+
+            index.beginReload();
+            index.put(2L, 6L, at(12, 0), at(14, 0));
+            index.remove(1L);
+            index.completeReload(DAY, List.of(Reservation.builder()
+                    .id(1L)
+                    .restaurantTable(RestaurantTable.builder().id(5L).build())
+                    .reservationPeriod(Range.closedOpen(at(18, 0), at(20, 0)))
+                    .status(ReservationStatus.CONFIRMED)
+                    .build()));
+
+            assertFalse(index.isOccupied(5L, at(18, 0), at(20, 0)));
+            assertTrue(index.isOccupied(6L, at(12, 0), at(14, 0)));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package org.example.api.unit.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.api.repository.NotificationRepository;
+import org.example.api.repository.UnreadCountView;
+import org.example.api.service.UnreadNotificationCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class UnreadNotificationCounterTest {
+
+    private NotificationRepository notificationRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private UnreadNotificationCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        notificationRepository = mock(NotificationRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        counter = new UnreadNotificationCounter(notificationRepository, meterRegistry, 2, Duration.ofMinutes(1));
+    }
+
+    private static UnreadCountView view(long userId, long unread) {
+        return new UnreadCountView() {
+            @Override
+            public Long getUserId() {
+                return userId;
+            }
+
+            @Override
+            public long getUnread() {
+                return unread;
+            }
+        };
+    }
+
+    @Nested
+    @DisplayName("Lookup Tests")
+    class LookupTests {
+
+        @Test
+        @DisplayName("Should load a missing count once and serve later reads from memory")
+        void shouldLoadOnMissOnly() {
+            when(notificationRepository.countUnreadByUserIds(Set.of(1L))).thenReturn(List.of(view(1, 5)));
+
+            assertEquals(5, counter.get(1L));
+            assertEquals(5, counter.get(1L));
+
+            verify(notificationRepository, times(1)).countUnreadByUserIds(anyCollection());
+            assertEquals(1.0, meterRegistry.get("notifications.unread.cache.requests").tag("result", "hit").counter().count());
+        }
+
+        @Test
+        @DisplayName("Should treat users without unread rows as zero")
+        void shouldDefaultToZero() {
+            when(notificationRepository.countUnreadByUserIds(anyCollection())).thenReturn(List.of());
+
+            assertEquals(0, counter.get(1L));
+        }
+
+        @Test
+        @DisplayName("Should evict the least recently used user once full")
+        void shouldEvictLeastRecentlyUsed() {
+            when(notificationRepository.countUnreadByUserIds(anyCollection())).thenReturn(List.of());
+            counter.get(1L);
+            counter.get(2L);
+            counter.get(1L);
+            counter.get(3L);
+
+            clearInvocations(notificationRepository);
+            counter.get(1L);
+            counter.get(2L);
+
+            verify(notificationRepository, never()).countUnreadByUserIds(Set.of(1L));
+            verify(notificationRepository, times(1)).countUnreadByUserIds(Set.of(2L));
+        }
+    }
+
+    @Nested
+    @DisplayName("Update Tests")
+    class UpdateTests {
+
+        @Test
+        @DisplayName("Should adjust cached counts and never go below zero")
+        void shouldAdjustCachedCounts() {
+            when(notificationRepository.countUnreadByUserIds(anyCollection())).thenReturn(List.of(view(1, 2)));
+            counter.get(1L);
+
+            counter.increment(Map.of(1L, 3));
+            assertEquals(5, counter.get(1L));
+
+            counter.decrement(1L, 9);
+            assertEquals(0, counter.get(1L));
+        }
+
+        @Test
+        @DisplayName("Should not cache a count loaded while the user's notifications changed")
+        void shouldNotCacheStaleLoad() {
+            when(notificationRepository.countUnreadByUserIds(anyCollection())).thenAnswer(invocation -> {
+                counter.increment(Map.of(1L, 1));
+                return List.of(view(1, 4));
+            }).thenReturn(List.of(view(1, 5)));
+
+            assertEquals(4, counter.get(1L));
+            assertEquals(5, counter.get(1L));
+            verify(notificationRepository, times(2)).countUnreadByUserIds(anyCollection());
+        }
+
+        @Test
+        @DisplayName("Should converge on counts changed outside the cache once the entry expires")
+        void shouldConvergeAfterExpiry() {
+            counter = new UnreadNotificationCounter(notificationRepository, meterRegistry, 2, Duration.ZERO);
+            when(notificationRepository.countUnreadByUserIds(anyCollection()))
+                    .thenReturn(List.of(view(1, 5)))
+                    .thenReturn(List.of(view(1, 9)));
+
+            assertEquals(5, counter.get(1L));
+            assertEquals(9, counter.get(1L));
+        }
+    }
+}
\ No newline at end of file
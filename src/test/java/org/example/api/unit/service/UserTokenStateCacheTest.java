@@ -0,0 +1,95 @@
+package org.example.api.unit.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.api.repository.UserRepository;
+import org.example.api.repository.UserTokenStateView;
+import org.example.api.service.UserTokenStateCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class UserTokenStateCacheTest {
+
+    private UserRepository userRepository;
+    private UserTokenStateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        cache = new UserTokenStateCache(userRepository, new SimpleMeterRegistry(), 100, Duration.ofHours(1));
+    }
+
+    private static Optional<UserTokenStateView> state(int tokenVersion, boolean active) {
+        return Optional.of(new UserTokenStateView() {
+            @Override
+            public int getTokenVersion() {
+                return tokenVersion;
+            }
+
+            @Override
+            public boolean getActive() {
+                return active;
+            }
+        });
+    }
+
+    @Nested
+    @DisplayName("Validation Tests")
+    class ValidationTests {
+
+        @Test
+        @DisplayName("Should accept a current token and serve repeated checks from memory")
+        void shouldAcceptCurrentTokenFromMemory() {
+            when(userRepository.findTokenStateById(1L)).thenReturn(state(2, true));
+
+            assertTrue(cache.isCurrent(1L, 2));
+            assertTrue(cache.isCurrent(1L, 2));
+
+            verify(userRepository, times(1)).findTokenStateById(1L);
+        }
+
+        @Test
+        @DisplayName("Should reject tokens with an old version, of inactive or of unknown users")
+        void shouldRejectStaleTokens() {
+            when(userRepository.findTokenStateById(1L)).thenReturn(state(3, true));
+            when(userRepository.findTokenStateById(2L)).thenReturn(state(0, false));
+            when(userRepository.findTokenStateById(3L)).thenReturn(Optional.empty());
+
+            assertFalse(cache.isCurrent(1L, 2));
+            assertFalse(cache.isCurrent(2L, 0));
+            assertFalse(cache.isCurrent(3L, 0));
+        }
+
+        @Test
+        @DisplayName("Should reload the state after eviction")
+        void shouldReloadAfterEviction() {
+            when(userRepository.findTokenStateById(1L)).thenReturn(state(0, true), state(1, true));
+
+            assertTrue(cache.isCurrent(1L, 0));
+            cache.evict(1L);
+
+            assertFalse(cache.isCurrent(1L, 0));
+            assertTrue(cache.isCurrent(1L, 1));
+            verify(userRepository, times(2)).findTokenStateById(1L);
+        }
+
+        @Test
+        @DisplayName("Should reload the state once the entry has expired")
+        void shouldReloadExpiredEntries() {
+            UserTokenStateCache expiring = new UserTokenStateCache(userRepository, new SimpleMeterRegistry(), 100, Duration.ZERO);
+            when(userRepository.findTokenStateById(1L)).thenReturn(state(0, true));
+
+            expiring.isCurrent(1L, 0);
+            expiring.isCurrent(1L, 0);
+
+            verify(userRepository, times(2)).findTokenStateById(1L);
+        }
+    }
+}
\ No newline at end of file